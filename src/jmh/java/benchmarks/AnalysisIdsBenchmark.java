@@ -0,0 +1,48 @@
+package benchmarks;
+
+import entity.common.AnalysisIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session IDs and timestamps of the analysis objects from many threads at once, against the
+ * {@code UUID.randomUUID()} and {@code Instant.now().toString()} calls they replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class AnalysisIdsBenchmark {
+
+    @Benchmark
+    public String sessionId() {
+        return AnalysisIds.sessionId("copypaste");
+    }
+
+    @Benchmark
+    public String sessionIdFromUuid() {
+        return "copypaste_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Benchmark
+    public String timestamp() {
+        return AnalysisIds.timestamp();
+    }
+
+    @Benchmark
+    public String timestampFromInstant() {
+        return Instant.now().toString();
+    }
+}
@@ -0,0 +1,100 @@
+package benchmarks;
+
+import entity.screeningPOJO.QuestionType;
+import entity.screeningPOJO.ScreeningQuestions;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Question ID extraction from a realistic get-screening-questions response: the GPath
+ * expressions the tests used before, and the {@link ScreeningQuestions} index that replaced them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPathBenchmark {
+
+    private String body;
+    private Response response;
+    private JsonPath parsed;
+
+    @Setup
+    public void loadResponse() throws IOException {
+        try (InputStream inputStream = JsonPathBenchmark.class.getClassLoader().getResourceAsStream("get-screening-questions.json")) {
+            body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        response = new ResponseBuilder().setStatusCode(200).setContentType(ContentType.JSON).setBody(body).build();
+        parsed = new JsonPath(body);
+    }
+
+    /**
+     * One lookup, including the parse that every {@code response.jsonPath()} call does
+     */
+    @Benchmark
+    public String singleLookupFromResponse() {
+        return response.jsonPath().getString("find { it.audio != null }.audio[0]._id");
+    }
+
+    /**
+     * All question IDs the way the tests read them: a fresh {@code response.jsonPath()} per lookup
+     */
+    @Benchmark
+    public void allLookupsFromResponse(Blackhole blackhole) {
+        blackhole.consume(response.jsonPath().getString("find { it.audio != null }.audio[0]._id"));
+        blackhole.consume(response.jsonPath().getString("find { it.video != null }.video[0]._id"));
+        blackhole.consume(response.jsonPath().getString("find { it.subjective != null }.subjective[0]._id"));
+        blackhole.consume(response.jsonPath().getList("find { it.mcq != null }.mcq._id"));
+    }
+
+    /**
+     * The same lookups on a response parsed once
+     */
+    @Benchmark
+    public void allLookupsOnParsedBody(Blackhole blackhole) {
+        blackhole.consume(parsed.getString("find { it.audio != null }.audio[0]._id"));
+        blackhole.consume(parsed.getString("find { it.video != null }.video[0]._id"));
+        blackhole.consume(parsed.getString("find { it.subjective != null }.subjective[0]._id"));
+        blackhole.consume(parsed.getList("find { it.mcq != null }.mcq._id"));
+    }
+
+    /**
+     * The same lookups through the typed index, parse included
+     */
+    @Benchmark
+    public void allLookupsFromTypedIndex(Blackhole blackhole) {
+        ScreeningQuestions questions = ScreeningQuestions.from(response);
+        blackhole.consume(questions.getFirstId(QuestionType.AUDIO));
+        blackhole.consume(questions.getFirstId(QuestionType.VIDEO));
+        blackhole.consume(questions.getFirstId(QuestionType.SUBJECTIVE));
+        blackhole.consume(questions.getIds(QuestionType.MCQ));
+    }
+
+    /**
+     * Parsing alone; {@link JsonPath} is lazy, so the root is read to force it
+     */
+    @Benchmark
+    public Object parseOnly() {
+        return new JsonPath(body).get();
+    }
+}
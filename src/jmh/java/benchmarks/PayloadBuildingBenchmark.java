@@ -0,0 +1,84 @@
+package benchmarks;
+
+import entity.common.AnalysisIds;
+import entity.common.CopyPasteAnalysis;
+import entity.mcqPOJO.MCQRootPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utility.JavaToJSON;
+import utility.PayloadTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an MCQ answer payload from a {@link PayloadTemplate} shaped like the one in {@code MCQService},
+ * against {@link #mcqPayloadFromObjectGraph()}, the builder-plus-Jackson path the templates replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadBuildingBenchmark {
+
+    private static final String QUESTION_ID = "692d3aee3d9838750c2d6521";
+    private static final String JOB_ROLE_ID = "6916f54c0a6a2ebd1f5b3c1d";
+    private static final String JOB_APPLICATION_ID = "692e8b1c2f4a6d0e3b7c9a12";
+
+    private PayloadTemplate mcqTemplate;
+
+    @Setup
+    public void compileTemplate() {
+        CopyPasteAnalysis copyPasteAnalysis = CopyPasteAnalysis.createDefault(257);
+        copyPasteAnalysis.setSessionId(PayloadTemplate.slot("copyPasteSessionId"));
+        copyPasteAnalysis.setTimestamp(PayloadTemplate.slot("timestamp"));
+        mcqTemplate = PayloadTemplate.compile(mcqPayload(PayloadTemplate.slot("questionId"), PayloadTemplate.slot("jobRoleId"),
+                        PayloadTemplate.slot("experience"), PayloadTemplate.slot("jobApplicationId"),
+                        PayloadTemplate.slot("candidateAnswer"), copyPasteAnalysis),
+                "questionId", "jobRoleId", "experience", "jobApplicationId", "candidateAnswer", "copyPasteSessionId", "timestamp");
+    }
+
+    @Benchmark
+    public CopyPasteAnalysis copyPasteAnalysisDefault() {
+        return CopyPasteAnalysis.createDefault(257);
+    }
+
+    @Benchmark
+    public String mcqPayloadFromTemplate() {
+        return mcqTemplate.render(QUESTION_ID, JOB_ROLE_ID, "3", JOB_APPLICATION_ID, "SignatureException",
+                CopyPasteAnalysis.generateSessionId(), AnalysisIds.timestamp());
+    }
+
+    @Benchmark
+    public String mcqPayloadFromObjectGraph() {
+        return JavaToJSON.convertToJSON(mcqPayload(QUESTION_ID, JOB_ROLE_ID, "3", JOB_APPLICATION_ID, "SignatureException",
+                CopyPasteAnalysis.createDefault(257)));
+    }
+
+    private static MCQRootPayload mcqPayload(String questionId, String jobRoleId, String experience, String jobApplicationId,
+                                             String candidateAnswer, CopyPasteAnalysis copyPasteAnalysis) {
+        return MCQRootPayload.builder()
+                .questionId(questionId)
+                .type("mcq")
+                .skill("api")
+                .jobRoleId(jobRoleId)
+                .experience(experience)
+                .jobApplicationId(jobApplicationId)
+                .timeSpent(9)
+                .fullScreenExitCount(0)
+                .tabSwitchCount(0)
+                .candidateAnswer(candidateAnswer)
+                .copyPasteAnalysis(copyPasteAnalysis)
+                .hasCopyPasteAnalysis(true)
+                .build();
+    }
+}
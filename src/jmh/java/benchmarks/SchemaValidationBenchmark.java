@@ -0,0 +1,66 @@
+package benchmarks;
+
+import base.ScreeningSession;
+import constants.FilePaths;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.MCQService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code verifySchemaForResponse} against both schema files, with an update-candidate-result
+ * response of the matching answer type. Schemas are compiled during warm-up, as in a test run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaValidationBenchmark {
+
+    private MCQService service;
+    private Response mediaOrMcqResponse;
+    private Response subjectiveOrProgrammingResponse;
+
+    @Setup
+    public void buildResponses() {
+        service = new MCQService(ScreeningSession.builder().build());
+        mediaOrMcqResponse = response("{\"success\":true,\"message\":\"Answer submitted successfully\","
+                + "\"questionId\":\"692d3aee3d9838750c2d6521\",\"type\":\"video\","
+                + "\"timestamp\":\"2025-12-02T10:15:30.123Z\"}");
+        subjectiveOrProgrammingResponse = response("{\"success\":true,\"message\":\"Answer submitted successfully\","
+                + "\"questionId\":\"692d3aee3d9838750c2d6525\",\"type\":\"subjective\","
+                + "\"timestamp\":\"2025-12-02T10:15:30.123Z\",\"analysisStatus\":\"pending\"}");
+    }
+
+    @Benchmark
+    public void videoAudioMcqSchema() {
+        service.verifySchemaForResponse(mediaOrMcqResponse, FilePaths.SCHEMA_FILE_FOR_VIDEO_AUDIO_MCQ);
+    }
+
+    @Benchmark
+    public void subjectiveProgrammingSchema() {
+        service.verifySchemaForResponse(subjectiveOrProgrammingResponse, FilePaths.SCHEMA_FILE_FOR_SUBJECTIVE_PROGRAMMING);
+    }
+
+    private static Response response(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+    }
+}
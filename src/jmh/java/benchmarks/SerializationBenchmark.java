@@ -0,0 +1,162 @@
+package benchmarks;
+
+import entity.audioPOJO.AudioAnswerPayload;
+import entity.audioPOJO.AudioFileGeneratorPayload;
+import entity.audioPOJO.AudioSubmitAnswerPayload;
+import entity.common.CopyPasteAnalysis;
+import entity.common.FileGeneratorPayload;
+import entity.common.TypingAnalysis;
+import entity.mcqPOJO.MCQRootPayload;
+import entity.programmingPOJO.ProgrammingPayload;
+import entity.subjectivePOJO.SubjectiveRootPayload;
+import entity.videoPOJO.VideoAnswerAnalysisPayload;
+import entity.videoPOJO.VideoAnswerPayload;
+import entity.videoPOJO.VideoFileGeneratorPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utility.JavaToJSON;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JavaToJSON#convertToJSON(Object)} for every request payload in {@code entity.*}.
+ * Payloads are built once, so only serialization is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final String QUESTION_ID = "692d3aee3d9838750c2d6521";
+    private static final String JOB_ROLE_ID = "6916f54c0a6a2ebd1f5b3c1d";
+    private static final String JOB_APPLICATION_ID = "692e8b1c2f4a6d0e3b7c9a12";
+    private static final String CANDIDATE_SCREENING_ID = "692e8b1c2f4a6d0e3b7c9a13";
+
+    private MCQRootPayload mcq;
+    private SubjectiveRootPayload subjective;
+    private ProgrammingPayload programming;
+    private AudioAnswerPayload audioAnalysis;
+    private AudioSubmitAnswerPayload audioSubmit;
+    private VideoAnswerPayload videoAnswer;
+    private VideoAnswerAnalysisPayload videoAnalysis;
+    private FileGeneratorPayload fileGenerator;
+    private AudioFileGeneratorPayload audioFileGenerator;
+    private VideoFileGeneratorPayload videoFileGenerator;
+
+    @Setup
+    public void buildPayloads() {
+        mcq = MCQRootPayload.builder()
+                .questionId(QUESTION_ID).type("mcq").skill("api").jobRoleId(JOB_ROLE_ID).experience("3")
+                .jobApplicationId(JOB_APPLICATION_ID).timeSpent(9).fullScreenExitCount(0).tabSwitchCount(0)
+                .candidateAnswer("SignatureException")
+                .copyPasteAnalysis(CopyPasteAnalysis.createDefault(257)).hasCopyPasteAnalysis(true)
+                .build();
+        subjective = SubjectiveRootPayload.builder()
+                .questionId(QUESTION_ID).type("subjective").skill("api").jobRoleId(JOB_ROLE_ID).experience("3")
+                .jobApplicationId(JOB_APPLICATION_ID).timeSpent(60).fullScreenExitCount(0).tabSwitchCount(0)
+                .candidateAnswer("<p>- More Reliable</p><p>- More Secure</p><p>- Flackness is lesser then UI</p>")
+                .typingAnalysis(TypingAnalysis.createDefault(54979, 103, 119)).hasTypingAnalysis(true)
+                .build();
+        programming = ProgrammingPayload.builder()
+                .questionId(QUESTION_ID).type("programming").skill("api").jobRoleId(JOB_ROLE_ID).experience("3")
+                .jobApplicationId(JOB_APPLICATION_ID).timeSpent(73).fullScreenExitCount(0).tabSwitchCount(0)
+                .candidateAnswer("import java.util.*;\n\npublic class Solution {\n    public static void main(String[] args) {\n"
+                        + "        Scanner scanner = new Scanner(System.in);\n        // TODO: Implement the solution here\n    }\n}")
+                .typingAnalysis(TypingAnalysis.createDefault(68166, 6161, 5)).hasTypingAnalysis(true)
+                .screeningTestId("6916f5a80a6a2ebd1f5b3c2e").programmingLanguageId(62).editorEvents(new ArrayList<>()).retakes(1)
+                .build();
+        audioAnalysis = AudioAnswerPayload.builder()
+                .fileId("f-audio-1").question("<p>What status code is returned when a payment is accepted but not yet processed?</p>")
+                .questionId(QUESTION_ID).candidateScreeningId(CANDIDATE_SCREENING_ID).candidateApplicationId(JOB_APPLICATION_ID)
+                .skillName("api").type("audio").jobRoleId(JOB_ROLE_ID).maxTime("1").experience("4.0")
+                .copyPasteAnalysis(CopyPasteAnalysis.createDefault(37061)).hasCopyPasteAnalysis(true)
+                .fullScreenExitCount(0).tabSwitchCount(0)
+                .build();
+        audioSubmit = AudioSubmitAnswerPayload.builder()
+                .questionId(QUESTION_ID).type("audio").skill("api").jobRoleId(JOB_ROLE_ID).experience("3")
+                .jobApplicationId(JOB_APPLICATION_ID).timeSpent(29).fullScreenExitCount(0).tabSwitchCount(0)
+                .copyPasteAnalysis(CopyPasteAnalysis.createDefault(37954)).hasCopyPasteAnalysis(true)
+                .answerAudioFileId("f-audio-1").retakes(0)
+                .build();
+        videoAnswer = VideoAnswerPayload.builder()
+                .questionId(QUESTION_ID).type("video").skill("api").jobRoleId(JOB_ROLE_ID).experience("3")
+                .jobApplicationId(JOB_APPLICATION_ID).timeSpent(33).fullScreenExitCount(0).tabSwitchCount(0)
+                .copyPasteAnalysis(CopyPasteAnalysis.createDefault(53958)).hasCopyPasteAnalysis(true)
+                .answerVideoFileId("f-video-1").retakes(0)
+                .build();
+        videoAnalysis = VideoAnswerAnalysisPayload.builder()
+                .fileId("f-video-1").question("<p>can you tell me all the HTTP methods in details</p>")
+                .questionId(QUESTION_ID).candidateScreeningId(CANDIDATE_SCREENING_ID).candidateApplicationId(JOB_APPLICATION_ID)
+                .skillName("api").type("video").jobRoleId(JOB_ROLE_ID).maxTime("3").experience("3")
+                .copyPasteAnalysis(CopyPasteAnalysis.createDefault(53779)).hasCopyPasteAnalysis(true)
+                .fullScreenExitCount(0).tabSwitchCount(0)
+                .build();
+        fileGenerator = FileGeneratorPayload.forVideo();
+        audioFileGenerator = AudioFileGeneratorPayload.builder()
+                .originalFilename("recordedAudio.webm").fileType("audio").mimeType("audio/webm").build();
+        videoFileGenerator = VideoFileGeneratorPayload.builder()
+                .originalFilename("recordedVideo.webm").fileType("video").mimeType("video/webm").build();
+    }
+
+    @Benchmark
+    public String mcqRootPayload() {
+        return JavaToJSON.convertToJSON(mcq);
+    }
+
+    @Benchmark
+    public String subjectiveRootPayload() {
+        return JavaToJSON.convertToJSON(subjective);
+    }
+
+    @Benchmark
+    public String programmingPayload() {
+        return JavaToJSON.convertToJSON(programming);
+    }
+
+    @Benchmark
+    public String audioAnswerPayload() {
+        return JavaToJSON.convertToJSON(audioAnalysis);
+    }
+
+    @Benchmark
+    public String audioSubmitAnswerPayload() {
+        return JavaToJSON.convertToJSON(audioSubmit);
+    }
+
+    @Benchmark
+    public String videoAnswerPayload() {
+        return JavaToJSON.convertToJSON(videoAnswer);
+    }
+
+    @Benchmark
+    public String videoAnswerAnalysisPayload() {
+        return JavaToJSON.convertToJSON(videoAnalysis);
+    }
+
+    @Benchmark
+    public String fileGeneratorPayload() {
+        return JavaToJSON.convertToJSON(fileGenerator);
+    }
+
+    @Benchmark
+    public String audioFileGeneratorPayload() {
+        return JavaToJSON.convertToJSON(audioFileGenerator);
+    }
+
+    @Benchmark
+    public String videoFileGeneratorPayload() {
+        return JavaToJSON.convertToJSON(videoFileGenerator);
+    }
+}
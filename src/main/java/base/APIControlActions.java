@@ -1,170 +1,274 @@
 package base;
 
-import io.qameta.allure.restassured.AllureRestAssured;
-import io.restassured.RestAssured;
+import base.auth.TokenCache;
+import base.http.FileChannelEntity;
+import base.http.HttpClientPool;
+import base.http.ResponseConverter;
+import base.logging.RequestLogFilter;
+import base.metrics.EndpointMetrics;
+import base.metrics.RequestTiming;
+import base.reporting.AllureReporting;
+import base.resilience.RequestPolicies;
 import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.config.SSLConfig;
-import io.restassured.filter.log.LogDetail;
-import io.restassured.module.jsv.JsonSchemaValidator;
+import io.restassured.filter.Filter;
+import io.restassured.http.Header;
+import io.restassured.http.Method;
 import io.restassured.response.Response;
-import utility.PropertyUtil;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpPut;
+import utility.SchemaRegistry;
 
-import java.io.File;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 import static io.restassured.RestAssured.given;
 
+/**
+ * RestAssured wrapper shared by all services.
+ * <p>
+ * Request state (headers, body, params) is collected per thread and turned into an
+ * immutable {@link RequestSpecification} when an execute* method runs, so service
+ * instances can be driven from many threads at once. All calls share the keep-alive
+ * connections of {@link HttpClientPool}, and every call is recorded in {@link EndpointMetrics}
+ * with its connect, time-to-first-byte and total time plus request and response body sizes.
+ * Timeouts, retries, hedging and circuit breaking follow the endpoint's policy in {@link RequestPolicies};
+ * each attempt is sent from the same frozen spec and recorded on its own.
+ */
 public class APIControlActions {
-    protected static String token;//driver
-    private static RequestSpecBuilder requestSpecBuilder;
-    private PropertyUtil propertyUtil = new PropertyUtil("src/main/resources/config/envConfig.properties");
+    private static final ThreadLocal<RequestSpecBuilder> REQUEST_SPEC_BUILDER = new ThreadLocal<>();
 
-    private void buildRequestSpecBuilder() {
+    private volatile String token;
+    private volatile String authUser = TokenCache.defaultUser();
+
+    private RequestSpecBuilder buildRequestSpecBuilder() {
+        RequestSpecBuilder requestSpecBuilder = REQUEST_SPEC_BUILDER.get();
         if (requestSpecBuilder == null) {
             requestSpecBuilder = new RequestSpecBuilder();
-            requestSpecBuilder.addFilter(new AllureRestAssured());
+            Filter allureFilter = AllureReporting.requestFilter();
+            if (allureFilter != null) {
+                requestSpecBuilder.addFilter(allureFilter);
+            }
+            RequestLogFilter requestLogFilter = RequestLogFilter.getInstance();
+            if (requestLogFilter != null) {
+                requestSpecBuilder.addFilter(requestLogFilter);
+            }
+            REQUEST_SPEC_BUILDER.set(requestSpecBuilder);
         }
-        requestSpecBuilder.log(LogDetail.ALL);
+        return requestSpecBuilder;
+    }
+
+    /**
+     * Freezes the current thread's request state into a spec and clears it for the next call
+     */
+    private RequestSpecification buildRequestSpec() {
+        RequestSpecBuilder requestSpecBuilder = buildRequestSpecBuilder();
+        REQUEST_SPEC_BUILDER.remove();
+        return requestSpecBuilder.build();
     }
 
+    /**
+     * Bearer token for a call to our own backend, never sent to pre-signed storage URLs:
+     * the one set with {@link #setToken}, else the auth user's cached token, else none
+     */
+    private String bearerToken() {
+        if (token != null) {
+            return token;
+        }
+        String user = authUser;
+        return user == null ? null : TokenCache.getInstance().getToken(user);
+    }
+
+    /**
+     * Drops request state the current thread may still hold from a call that failed before it was
+     * sent; services call it before setting up each request, since pooled threads are reused
+     */
     protected void resetRequestBuilder() {
-        requestSpecBuilder = null;
+        REQUEST_SPEC_BUILDER.remove();
+    }
+
+    /**
+     * Starts a fresh request on the current thread that is neither logged nor attached to Allure,
+     * for bodies such as credentials that must not end up in the console or the report
+     */
+    protected void startUnrecordedRequest() {
+        REQUEST_SPEC_BUILDER.set(new RequestSpecBuilder());
     }
 
     protected void setToken(String tokenValue) {
         token = tokenValue;
     }
 
+    /**
+     * Authenticates this instance's backend calls as the user from userConfig.properties,
+     * null for none. Defaults to {@code auth.defaultUser}.
+     */
+    public void setAuthUser(String user) {
+        authUser = user;
+    }
+
     protected void setHeader(String key, String value) {
-        buildRequestSpecBuilder();
-        requestSpecBuilder.addHeader(key, value);
+        buildRequestSpecBuilder().addHeader(key, value);
     }
 
     protected void setFormData(String key, String value) {
-        buildRequestSpecBuilder();
-        requestSpecBuilder.addFormParam(key, value);
+        buildRequestSpecBuilder().addFormParam(key, value);
     }
 
     protected void setHeaders(Map<String, String> headers) {
-        buildRequestSpecBuilder();
-        requestSpecBuilder.addHeaders(headers);
+        buildRequestSpecBuilder().addHeaders(headers);
     }
 
     public void setBody(String body) {
-        buildRequestSpecBuilder();
-        requestSpecBuilder.setBody(body);
+        buildRequestSpecBuilder().setBody(body);
     }
 
     public void setBody(byte[] body) {
-        buildRequestSpecBuilder();
-        requestSpecBuilder.setBody(body);
+        buildRequestSpecBuilder().setBody(body);
     }
 
     public void setBaseUri(String baseUri) {
-        buildRequestSpecBuilder();
-        requestSpecBuilder.setBaseUri(baseUri);
+        buildRequestSpecBuilder().setBaseUri(baseUri);
     }
 
     public void setQueryParam(String key, String value) {
-        buildRequestSpecBuilder();
-        requestSpecBuilder.addQueryParam(key, value);
+        buildRequestSpecBuilder().addQueryParam(key, value);
     }
 
     public void setQueryParams(Map<String, String> queryParams) {
-        buildRequestSpecBuilder();
-        requestSpecBuilder.addQueryParams(queryParams);
+        buildRequestSpecBuilder().addQueryParams(queryParams);
     }
 
     public Response executePatchAPI(String endPoint) {
-        String baseURI = propertyUtil.getProperty(ApplicationConfig.getEnvironment());
-        RestAssured.config = RestAssured.config()
-                .sslConfig(SSLConfig.sslConfig().relaxedHTTPSValidation());
-        Response response = given()
-                .spec(requestSpecBuilder.build())
-                .baseUri(baseURI)
-                .when()
-                .patch(endPoint)
-                .then()
-                .extract()
-                .response();
-        requestSpecBuilder = null; // Reset the builder after request execution
-        return response;
+        return executeAPI(Method.PATCH, endPoint);
     }
 
     public Response executePostAPI(String endPoint) {
-        String baseURI = propertyUtil.getProperty(ApplicationConfig.getEnvironment());
-        RestAssured.config = RestAssured.config()
-                .sslConfig(SSLConfig.sslConfig().relaxedHTTPSValidation());
-        Response response = given()
-                .spec(requestSpecBuilder.build())
-                .baseUri(baseURI)
-                .when()
-                .post(endPoint)
-                .then()
-                .extract()
-                .response();
-        requestSpecBuilder = null; // Reset the builder after request execution
-        return response;
+        return executeAPI(Method.POST, endPoint);
     }
 
     public Response executePutAPI(String endPoint) {
-        String baseURI = propertyUtil.getProperty(ApplicationConfig.getEnvironment());
-        RestAssured.config = RestAssured.config()
-                .sslConfig(SSLConfig.sslConfig().relaxedHTTPSValidation());
-        Response response = given()
-                .spec(requestSpecBuilder.build())
-                .baseUri(baseURI)
-                .when()
-                .put(endPoint)
-                .then()
-                .extract()
-                .response();
-        requestSpecBuilder = null; // Reset the builder after request execution
-        return response;
+        return executeAPI(Method.PUT, endPoint);
     }
 
     public Response executeGetAPI(String endPoint) {
-        String baseURI = propertyUtil.getProperty(ApplicationConfig.getEnvironment());
-
-        RestAssured.config = RestAssured.config()
-                .sslConfig(SSLConfig.sslConfig().relaxedHTTPSValidation());
-
-        Response response = given()
-                .spec(requestSpecBuilder.build())
-                .baseUri(baseURI)
-                .when()
-                .get(endPoint)
-                .then()
-                .extract()
-                .response();
-        requestSpecBuilder = null; // Reset the builder after request execution
-        return response;
+        return executeAPI(Method.GET, endPoint);
     }
 
     public Response executeMultipartPutAPIWithFullUrl(String fullUrl) {
-        RestAssured.config = RestAssured.config()
-                .sslConfig(SSLConfig.sslConfig().relaxedHTTPSValidation());
-        Response response = given()
-                .spec(requestSpecBuilder.build())
-                .urlEncodingEnabled(false)
-                .relaxedHTTPSValidation()
-                .when()
-                .put(fullUrl)
-                .then()
-                .extract()
-                .response();
-        requestSpecBuilder = null;
+        RequestSpecification spec = buildRequestSpec();
+        return RequestPolicies.execute("PUT", fullUrl, policy -> {
+            RequestTiming timing = RequestTiming.start();
+            int statusCode = -1;
+            try {
+                Response response = given()
+                        .spec(spec)
+                        .config(policy.getRestAssuredConfig())
+                        .urlEncodingEnabled(false)
+                        .when()
+                        .put(fullUrl)
+                        .then()
+                        .extract()
+                        .response();
+                statusCode = response.statusCode();
+                return releaseConnection(response, timing);
+            } finally {
+                EndpointMetrics.record("PUT", fullUrl, statusCode, timing.finish());
+            }
+        });
+    }
+
+    /**
+     * PUTs a file to a pre-signed URL without loading it on the heap.
+     * <p>
+     * Headers set on the current thread are sent as usual; the body is streamed from the file
+     * through {@link FileChannelEntity} over the pooled client, bypassing RestAssured so neither
+     * the request builder nor the request log ever holds a copy of the file.
+     */
+    public Response executeStreamingPutAPIWithFullUrl(String fullUrl, Path file) {
+        FilterableRequestSpecification spec = (FilterableRequestSpecification) buildRequestSpec();
+        return RequestPolicies.execute("PUT", fullUrl, policy -> {
+            HttpPut put = new HttpPut(fullUrl);
+            for (Header header : spec.getHeaders()) {
+                put.addHeader(header.getName(), header.getValue());
+            }
+            RequestTiming timing = RequestTiming.start();
+            int statusCode = -1;
+            try {
+                FileChannelEntity entity = new FileChannelEntity(file);
+                put.setEntity(entity);
+                RequestLogFilter.logLine(() -> "Request method:\tPUT\nRequest URI:\t" + fullUrl + "\nBody:\t\t\t" + entity);
+                HttpResponse httpResponse = HttpClientPool.newClient(policy.getConnectTimeoutMs(), policy.getReadTimeoutMs())
+                        .execute(put);
+                Response response = ResponseConverter.toRestAssured(httpResponse);
+                statusCode = response.statusCode();
+                timing.setBytesIn(response.asByteArray().length);
+                return response;
+            } catch (Exception e) {
+                put.abort();
+                throw new RuntimeException("Failed to stream " + file + ": " + e.getMessage(), e);
+            } finally {
+                EndpointMetrics.record("PUT", fullUrl, statusCode, timing.finish());
+            }
+        });
+    }
+
+    /**
+     * A 401 for a cached token drops it and the call is sent once more with a fresh login
+     */
+    private Response executeAPI(Method method, String endPoint) {
+        RequestSpecification spec = buildRequestSpec();
+        String bearer = bearerToken();
+        Response response = executeAPI(method, endPoint, spec, bearer);
+        String user = authUser;
+        if (response.statusCode() == 401 && bearer != null && token == null && user != null) {
+            TokenCache.getInstance().invalidate(user, bearer);
+            response = executeAPI(method, endPoint, spec, bearerToken());
+        }
         return response;
     }
 
+    private Response executeAPI(Method method, String endPoint, RequestSpecification spec, String bearer) {
+        String baseURI = FrameworkConfig.current().getBaseUri();
+        return RequestPolicies.execute(method.name(), endPoint, policy -> {
+            RequestTiming timing = RequestTiming.start();
+            int statusCode = -1;
+            try {
+                RequestSpecification request = given()
+                        .spec(spec)
+                        .config(policy.getRestAssuredConfig())
+                        .baseUri(baseURI);
+                if (bearer != null) {
+                    request.header("Authorization", "Bearer " + bearer);
+                }
+                Response response = request
+                        .when()
+                        .request(method, endPoint)
+                        .then()
+                        .extract()
+                        .response();
+                statusCode = response.statusCode();
+                return releaseConnection(response, timing);
+            } finally {
+                EndpointMetrics.record(method.name(), endPoint, statusCode, timing.finish());
+            }
+        });
+    }
+
+    /**
+     * Buffers the body so the pooled connection goes back to {@link HttpClientPool} right away,
+     * even when the caller only looks at the status code
+     */
+    private Response releaseConnection(Response response, RequestTiming timing) {
+        timing.setBytesIn(response.asByteArray().length);
+        return response;
+    }
+
+    /**
+     * Validates the body against a schema compiled once and cached by {@link SchemaRegistry}
+     */
     public void verifySchemaForResponse(Response response, String schemaFilePath) {
-        try {
-            File schemaFile = new File(schemaFilePath);
-            String schemaContent = Files.readString(schemaFile.toPath());
-            response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchema(schemaContent));
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to read schema file: " + e.getMessage());
-        }
+        SchemaRegistry.assertValid(response, schemaFilePath);
     }
 }
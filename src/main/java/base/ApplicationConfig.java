@@ -9,12 +9,47 @@ public class ApplicationConfig {
 
     //ENVIRONMENT VARIABLES
     public static String getEnvironment() {
-        String env = System.getProperty("environment");
-        if (env == null || env.isEmpty()) {
-            env = "stage";
-        }
-        System.out.println("Running tests on environment: " + env.toUpperCase());
-        return env;
+        return FrameworkConfig.current().getEnvironment();
+    }
+
+    /**
+     * Reads a setting (system property, then framework config file), falling back to the default when unset
+     */
+    public static String getProperty(String name, String defaultValue) {
+        String value = FrameworkConfig.current().getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Reads an integer setting (system property, then framework config file), falling back to the default when unset
+     */
+    public static int getIntProperty(String name, int defaultValue) {
+        String value = FrameworkConfig.current().getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Reads a boolean setting (system property, then framework config file), falling back to the default when unset
+     */
+    public static boolean getBooleanProperty(String name, boolean defaultValue) {
+        String value = FrameworkConfig.current().getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Reads a long setting (system property, then framework config file), falling back to the default when unset
+     */
+    public static long getLongProperty(String name, long defaultValue) {
+        String value = FrameworkConfig.current().getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    /**
+     * Reads a decimal setting (system property, then framework config file), falling back to the default when unset
+     */
+    public static double getDoubleProperty(String name, double defaultValue) {
+        String value = FrameworkConfig.current().getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : Double.parseDouble(value.trim());
     }
 
 
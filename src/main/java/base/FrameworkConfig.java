@@ -0,0 +1,185 @@
+package base;
+
+import constants.FilePaths;
+import lombok.Getter;
+import utility.PropertyUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Immutable snapshot of the framework configuration, loaded once and shared by every request.
+ * <p>
+ * Base URIs come from {@link FilePaths#ENV_CONFIG_FILE} and tunables from the optional
+ * {@link FilePaths#FRAMEWORK_CONFIG_FILE}; a system property of the same name always wins.
+ * Reading {@link #current()} is a single volatile read, so the request path can call it freely.
+ * <p>
+ * With {@code -Dconfig.watch=true} both files and {@link FilePaths#USER_CONFIG_FILE} are watched
+ * and a change loads a new snapshot that replaces the old one atomically; files cached by
+ * {@link PropertyUtil} are read again on their next use. Values read per request (base URI,
+ * timeouts) and {@link #addReloadListener reload listeners} pick it up; components that read a
+ * tunable once at startup keep their original value.
+ */
+@Getter
+public final class FrameworkConfig {
+
+    private static final String DEFAULT_ENVIRONMENT = "stage";
+    private static final long RELOAD_SETTLE_MS = 200;
+    private static final List<Consumer<FrameworkConfig>> RELOAD_LISTENERS = new CopyOnWriteArrayList<>();
+    private static final AtomicReference<FrameworkConfig> CURRENT = new AtomicReference<>(load());
+
+    static {
+        if (Boolean.parseBoolean(System.getProperty("config.watch"))) {
+            startWatching();
+        }
+    }
+
+    private final String environment;
+    private final String baseUri;
+    private final Map<String, String> baseUris;
+    private final Map<String, String> properties;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final int maxTotalConnections;
+    private final int maxConnectionsPerRoute;
+    private final Instant loadedAt;
+
+    private FrameworkConfig(Map<String, String> baseUris, Map<String, String> properties) {
+        this.baseUris = Collections.unmodifiableMap(baseUris);
+        this.properties = Collections.unmodifiableMap(properties);
+        String env = System.getProperty("environment");
+        this.environment = env == null || env.isEmpty() ? DEFAULT_ENVIRONMENT : env;
+        this.baseUri = baseUris.get(environment);
+        this.connectTimeoutMs = getIntProperty("http.connectTimeoutMs", 0);
+        this.readTimeoutMs = getIntProperty("http.readTimeoutMs", 0);
+        this.maxTotalConnections = getIntProperty("http.pool.maxTotal", 200);
+        this.maxConnectionsPerRoute = getIntProperty("http.pool.maxPerRoute", 50);
+        this.loadedAt = Instant.now();
+    }
+
+    public static FrameworkConfig current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Reads the files again and swaps the new snapshot in
+     *
+     * @return The new snapshot
+     */
+    public static FrameworkConfig reload() {
+        FrameworkConfig config = load();
+        CURRENT.set(config);
+        PropertyUtil.clearCache();
+        RELOAD_LISTENERS.forEach(listener -> listener.accept(config));
+        return config;
+    }
+
+    /**
+     * Called with every snapshot loaded after startup
+     */
+    public static void addReloadListener(Consumer<FrameworkConfig> listener) {
+        RELOAD_LISTENERS.add(listener);
+    }
+
+    /**
+     * System property first, then the framework config file
+     */
+    public String getProperty(String name) {
+        String value = System.getProperty(name);
+        return value == null || value.isEmpty() ? properties.get(name) : value;
+    }
+
+    public int getIntProperty(String name, int defaultValue) {
+        String value = getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static FrameworkConfig load() {
+        FrameworkConfig config = new FrameworkConfig(read(Paths.get(FilePaths.ENV_CONFIG_FILE), true),
+                read(Paths.get(FilePaths.FRAMEWORK_CONFIG_FILE), false));
+        if (config.baseUri == null) {
+            throw new IllegalStateException("No base URI for environment '" + config.environment + "' in "
+                    + FilePaths.ENV_CONFIG_FILE);
+        }
+        System.out.println("Running tests on environment: " + config.environment.toUpperCase() + " (" + config.baseUri + ")");
+        return config;
+    }
+
+    private static Map<String, String> read(Path file, boolean required) {
+        Map<String, String> values = new TreeMap<>();
+        if (!required && !Files.exists(file)) {
+            return values;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read config file " + file + ": " + e.getMessage(), e);
+        }
+        properties.stringPropertyNames().forEach(name -> values.put(name, properties.getProperty(name).trim()));
+        return values;
+    }
+
+    private static void startWatching() {
+        Set<Path> files = new HashSet<>(List.of(Paths.get(FilePaths.ENV_CONFIG_FILE).toAbsolutePath(),
+                Paths.get(FilePaths.FRAMEWORK_CONFIG_FILE).toAbsolutePath(),
+                Paths.get(FilePaths.USER_CONFIG_FILE).toAbsolutePath()));
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path directory : files.stream().map(Path::getParent).distinct().toArray(Path[]::new)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to watch config files: " + e.getMessage(), e);
+        }
+        Thread watcher = new Thread(() -> watch(watchService, files), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watch(WatchService watchService, Set<Path> files) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Path directory = (Path) key.watchable();
+                    changed |= event.context() instanceof Path && files.contains(directory.resolve((Path) event.context()));
+                }
+                key.reset();
+                if (changed) {
+                    // editors often write in several steps; let them finish before reading
+                    Thread.sleep(RELOAD_SETTLE_MS);
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        System.out.println("Config reload failed, keeping previous snapshot: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
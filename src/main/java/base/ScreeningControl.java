@@ -1,5 +1,11 @@
 package base;
 
+/**
+ * Process-wide candidate identifiers used by services created without a session.
+ *
+ * @deprecated shared by every thread; create services with a {@link ScreeningSession} instead
+ */
+@Deprecated
 public class ScreeningControl {
 
     public static String candidateScreeningId;
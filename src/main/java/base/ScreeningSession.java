@@ -0,0 +1,30 @@
+package base;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable identifiers of a single candidate screening.
+ * <p>
+ * Each service is bound to one session, so any number of candidates can be
+ * screened concurrently without sharing the {@link ScreeningControl} globals.
+ */
+@Builder(toBuilder = true)
+@Getter
+public final class ScreeningSession {
+    private final String candidateScreeningId;
+    private final String jobRoleID;
+    private final String jobApplicationID;
+
+    /**
+     * Snapshots the legacy {@link ScreeningControl} values into a session
+     */
+    @SuppressWarnings("deprecation")
+    public static ScreeningSession fromScreeningControl() {
+        return ScreeningSession.builder()
+                .candidateScreeningId(ScreeningControl.candidateScreeningId)
+                .jobRoleID(ScreeningControl.jobRoleID)
+                .jobApplicationID(ScreeningControl.jobApplicationID)
+                .build();
+    }
+}
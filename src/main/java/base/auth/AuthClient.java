@@ -0,0 +1,86 @@
+package base.auth;
+
+import base.APIControlActions;
+import base.ApplicationConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Logs users in against the backend. Configured through system properties or the framework config file:
+ * <ul>
+ *     <li>{@code auth.loginPath} - login endpoint (default /api/auth/login)</li>
+ *     <li>{@code auth.usernameField} - JSON field the username is sent in (default email)</li>
+ *     <li>{@code auth.tokenField}, {@code auth.expiresInField} - response fields holding the token and
+ *     its lifetime in seconds (default token, expiresIn)</li>
+ *     <li>{@code auth.defaultTtlSeconds} - lifetime assumed when the response has none and the token
+ *     is not a JWT with an {@code exp} claim (default 3600)</li>
+ * </ul>
+ */
+final class AuthClient extends APIControlActions {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    AuthClient() {
+        // the login call itself carries no token
+        setAuthUser(null);
+    }
+
+    AuthToken login(UserCredential credential) {
+        ObjectNode body = MAPPER.createObjectNode()
+                .put(ApplicationConfig.getProperty("auth.usernameField", "email"), credential.getUsername())
+                .put("password", credential.getPassword());
+        // the body holds the password, so it must not reach the request log or allure-results
+        startUnrecordedRequest();
+        setHeader("Content-Type", "application/json");
+        setBody(body.toString());
+        Response response = executePostAPI(ApplicationConfig.getProperty("auth.loginPath", "/api/auth/login"));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for user " + credential + " with status " + response.statusCode());
+        }
+
+        JsonNode json = readJson(response.asByteArray());
+        String token = json.path(ApplicationConfig.getProperty("auth.tokenField", "token")).asText(null);
+        if (token == null || token.isEmpty()) {
+            throw new IllegalStateException("Login response for user " + credential + " has no token");
+        }
+        JsonNode expiresIn = json.path(ApplicationConfig.getProperty("auth.expiresInField", "expiresIn"));
+        Instant expiresAt = expiresIn.canConvertToLong()
+                ? Instant.now().plusSeconds(expiresIn.asLong())
+                : jwtExpiry(token);
+        if (expiresAt == null) {
+            expiresAt = Instant.now().plusSeconds(ApplicationConfig.getLongProperty("auth.defaultTtlSeconds", 3600));
+        }
+        return AuthToken.builder().value(token).expiresAt(expiresAt).build();
+    }
+
+    /**
+     * The {@code exp} claim when the token is a JWT, otherwise null
+     */
+    static Instant jwtExpiry(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            JsonNode claims = readJson(Base64.getUrlDecoder().decode(parts[1].getBytes(StandardCharsets.US_ASCII)));
+            return claims.path("exp").canConvertToLong() ? Instant.ofEpochSecond(claims.path("exp").asLong()) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static JsonNode readJson(byte[] json) {
+        try {
+            return MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a JSON document: " + e.getMessage(), e);
+        }
+    }
+}
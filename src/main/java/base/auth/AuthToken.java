@@ -0,0 +1,20 @@
+package base.auth;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Bearer token of a logged-in user and when it stops being accepted
+ */
+@Builder
+@Getter
+public final class AuthToken {
+    private final String value;
+    private final Instant expiresAt;
+
+    public boolean isValidAt(Instant instant) {
+        return instant.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,162 @@
+package base.auth;
+
+import base.ApplicationConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bearer tokens per configured user, shared by every service and thread.
+ * <p>
+ * A user is logged in on first use only; concurrent callers for the same user wait for that
+ * one login instead of starting their own. Each token is refreshed in the background
+ * {@code auth.refreshBeforeSeconds} (default 60) before it expires, or halfway through its life
+ * when it lives less than twice that, so the request path only
+ * reads a volatile field. A failed refresh is retried every {@code auth.refreshRetrySeconds}
+ * (default 10) while the old token stays in use; once it has expired the next caller logs in
+ * itself and sees the error. A token the backend rejects can be {@link #invalidate invalidated}.
+ * <p>
+ * Services use the user named by {@code auth.defaultUser} unless told otherwise; without one,
+ * requests are sent without an Authorization header.
+ */
+public final class TokenCache {
+
+    private static final TokenCache INSTANCE = new TokenCache(credential -> new AuthClient().login(credential),
+            Duration.ofSeconds(ApplicationConfig.getLongProperty("auth.refreshBeforeSeconds", 60)),
+            Duration.ofSeconds(ApplicationConfig.getLongProperty("auth.refreshRetrySeconds", 10)));
+    private static final ScheduledExecutorService REFRESHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auth-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Function<UserCredential, AuthToken> login;
+    private final Duration refreshBefore;
+    private final Duration refreshRetry;
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * @param login         Logs a user in, called once per user and again for each refresh
+     * @param refreshBefore How long before expiry a token is replaced
+     * @param refreshRetry  Delay before another attempt after a failed refresh
+     */
+    public TokenCache(Function<UserCredential, AuthToken> login, Duration refreshBefore, Duration refreshRetry) {
+        this.login = login;
+        this.refreshBefore = refreshBefore;
+        this.refreshRetry = refreshRetry;
+    }
+
+    public static TokenCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * User named by {@code auth.defaultUser}, or null when requests go out unauthenticated
+     */
+    public static String defaultUser() {
+        return UserCredential.lookup("auth.defaultUser");
+    }
+
+    /**
+     * Token of the configured user, logging in on first use
+     */
+    public String getToken(String user) {
+        return getToken(user, () -> UserCredential.fromConfig(user));
+    }
+
+    /**
+     * Token of the user, logging in with the credential on first use
+     */
+    public String getToken(UserCredential credential) {
+        return getToken(credential.getName(), () -> credential);
+    }
+
+    /**
+     * Drops the user's token if it is still the given one, so the next caller logs in again.
+     * Callers that saw the same rejected token therefore trigger one login between them.
+     */
+    public void invalidate(String user, String token) {
+        Session session = sessions.get(user);
+        if (session != null) {
+            session.invalidate(token);
+        }
+    }
+
+    private String getToken(String user, Supplier<UserCredential> credential) {
+        return sessions.computeIfAbsent(user, name -> new Session(credential.get())).currentToken();
+    }
+
+    /**
+     * Token lifecycle of one user
+     */
+    private final class Session {
+        private final UserCredential credential;
+        private volatile AuthToken token;
+
+        private Session(UserCredential credential) {
+            this.credential = credential;
+        }
+
+        private String currentToken() {
+            AuthToken current = token;
+            if (current != null && current.isValidAt(Instant.now())) {
+                return current.getValue();
+            }
+            synchronized (this) {
+                current = token;
+                if (current == null || !current.isValidAt(Instant.now())) {
+                    current = loginNow();
+                }
+                return current.getValue();
+            }
+        }
+
+        private synchronized void invalidate(String rejected) {
+            if (token != null && token.getValue().equals(rejected)) {
+                token = null;
+            }
+        }
+
+        private synchronized AuthToken loginNow() {
+            AuthToken fresh = login.apply(credential);
+            token = fresh;
+            Duration lifetime = Duration.between(Instant.now(), fresh.getExpiresAt());
+            // short-lived tokens are renewed halfway instead of in a tight loop
+            Duration untilRefresh = lifetime.compareTo(refreshBefore.multipliedBy(2)) > 0
+                    ? lifetime.minus(refreshBefore) : lifetime.dividedBy(2);
+            scheduleRefresh(fresh, untilRefresh.isNegative() ? Duration.ZERO : untilRefresh);
+            return fresh;
+        }
+
+        private void scheduleRefresh(AuthToken replaced, Duration delay) {
+            REFRESHER.schedule(() -> refresh(replaced), delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Runs on the refresher thread; skipped when the token was replaced or dropped meanwhile
+         */
+        private void refresh(AuthToken replaced) {
+            synchronized (this) {
+                if (token != replaced) {
+                    return;
+                }
+                try {
+                    loginNow();
+                    return;
+                } catch (RuntimeException e) {
+                    System.out.println("Token refresh for user " + credential + " failed: " + e.getMessage());
+                }
+            }
+            if (replaced.isValidAt(Instant.now().plus(refreshRetry))) {
+                scheduleRefresh(replaced, refreshRetry);
+            }
+        }
+    }
+}
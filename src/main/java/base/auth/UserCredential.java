@@ -0,0 +1,52 @@
+package base.auth;
+
+import base.FrameworkConfig;
+import constants.FilePaths;
+import lombok.Builder;
+import lombok.Getter;
+import utility.PropertyUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Login of one configured user, read from {@link FilePaths#USER_CONFIG_FILE} as
+ * {@code auth.user.<name>.username} and {@code auth.user.<name>.password}; a system property
+ * of the same name wins, so passwords can stay out of the file.
+ */
+@Builder
+@Getter
+public final class UserCredential {
+    private final String name;
+    private final String username;
+    private final String password;
+
+    /**
+     * @throws IllegalStateException when the user has no username or password configured
+     */
+    public static UserCredential fromConfig(String name) {
+        String username = lookup("auth.user." + name + ".username");
+        String password = lookup("auth.user." + name + ".password");
+        if (username == null || password == null) {
+            throw new IllegalStateException("No credentials for user '" + name + "': set auth.user." + name
+                    + ".username and auth.user." + name + ".password in " + FilePaths.USER_CONFIG_FILE);
+        }
+        return UserCredential.builder().name(name).username(username).password(password).build();
+    }
+
+    /**
+     * System property, then framework config, then the user config file
+     */
+    static String lookup(String key) {
+        String value = FrameworkConfig.current().getProperty(key);
+        if ((value == null || value.isEmpty()) && Files.exists(Paths.get(FilePaths.USER_CONFIG_FILE))) {
+            value = PropertyUtil.getProperty(key, FilePaths.USER_CONFIG_FILE);
+        }
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + username + ")";
+    }
+}
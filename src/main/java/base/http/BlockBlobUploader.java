@@ -0,0 +1,235 @@
+package base.http;
+
+import base.ApplicationConfig;
+import base.metrics.EndpointMetrics;
+import base.metrics.RequestTiming;
+import base.resilience.EndpointPolicy;
+import base.resilience.RequestPolicies;
+import io.restassured.response.Response;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads large files to an Azure SAS URL as a block blob.
+ * <p>
+ * The file is split into fixed-size blocks that are sent concurrently with
+ * {@code Put Block} ({@code comp=block}), each streamed from disk through
+ * {@link FileChannelEntity}. A failed block is retried on its own with exponential
+ * backoff; once every block is stored the blob is committed with {@code Put Block List}.
+ * <p>
+ * Each upload runs at most {@code parallelism} workers that take the next block in turn, so
+ * concurrent uploads do not queue behind each other. Sockets use the connect and read timeouts
+ * of the blob endpoint's {@link EndpointPolicy}. Once a block fails for good or the upload
+ * runs out of time, the remaining workers stop before their next attempt.
+ * <p>
+ * Defaults come from system properties:
+ * <ul>
+ *     <li>{@code upload.block.sizeBytes} - block size (default 4 MiB)</li>
+ *     <li>{@code upload.block.parallelism} - blocks in flight per uploader (default 4)</li>
+ *     <li>{@code upload.block.maxAttempts} - attempts per block before giving up (default 3)</li>
+ *     <li>{@code upload.block.timeoutSeconds} - time allowed for all blocks of one upload (default 600)</li>
+ * </ul>
+ */
+public class BlockBlobUploader {
+
+    private static final long RETRY_BACKOFF_MS = 200;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 600;
+
+    private final long blockSizeBytes;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final long timeoutMs;
+    private final ExecutorService executor;
+
+    public BlockBlobUploader(long blockSizeBytes, int parallelism, int maxAttempts) {
+        this(blockSizeBytes, parallelism, maxAttempts, DEFAULT_TIMEOUT_SECONDS);
+    }
+
+    public BlockBlobUploader(long blockSizeBytes, int parallelism, int maxAttempts, long timeoutSeconds) {
+        if (blockSizeBytes <= 0 || parallelism <= 0 || maxAttempts <= 0 || timeoutSeconds <= 0) {
+            throw new IllegalArgumentException("Block size, parallelism, attempts and timeout must be positive");
+        }
+        this.blockSizeBytes = blockSizeBytes;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.timeoutMs = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        AtomicInteger threadCount = new AtomicInteger();
+        // threads are shared by all uploads; each upload limits its own workers to parallelism
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "blob-block-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static BlockBlobUploader fromSystemProperties() {
+        return new BlockBlobUploader(
+                ApplicationConfig.getLongProperty("upload.block.sizeBytes", 4L * 1024 * 1024),
+                ApplicationConfig.getIntProperty("upload.block.parallelism", 4),
+                ApplicationConfig.getIntProperty("upload.block.maxAttempts", 3),
+                ApplicationConfig.getLongProperty("upload.block.timeoutSeconds", DEFAULT_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * Uploads the file block by block and commits it
+     *
+     * @param sasUrl The pre-signed blob URL returned by generate-upload-url
+     * @param file   Path to the local file
+     * @return Response of the Put Block List call
+     */
+    public Response upload(String sasUrl, Path file) throws IOException {
+        long size = Files.size(file);
+        int blockCount = (int) Math.max(1, (size + blockSizeBytes - 1) / blockSizeBytes);
+
+        List<String> blockIds = new ArrayList<>(blockCount);
+        for (int index = 0; index < blockCount; index++) {
+            blockIds.add(blockId(index));
+        }
+        EndpointPolicy policy = RequestPolicies.policyFor("PUT", sasUrl);
+        AtomicInteger nextBlock = new AtomicInteger();
+        // first failure of the upload; workers stop taking blocks or attempts once it is set
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        int workers = Math.min(parallelism, blockCount);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            pending.add(CompletableFuture.runAsync(() -> {
+                int index;
+                while (failure.get() == null && (index = nextBlock.getAndIncrement()) < blockCount) {
+                    long offset = index * blockSizeBytes;
+                    try {
+                        putBlock(sasUrl, file, blockIds.get(index), offset, Math.min(blockSizeBytes, size - offset),
+                                policy, failure);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            failure.compareAndSet(null, new IllegalStateException("Blocks not stored within " + timeoutMs + " ms"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new IllegalStateException("Interrupted while uploading blocks", e));
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, new IllegalStateException(e.getCause().getMessage(), e.getCause()));
+        }
+        RuntimeException error = failure.get();
+        if (error != null) {
+            throw new IOException("Block upload failed for " + file + ": " + error.getMessage(), error);
+        }
+        return putBlockList(sasUrl, blockIds, policy);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void putBlock(String sasUrl, Path file, String blockId, long offset, long length, EndpointPolicy policy,
+                          AtomicReference<RuntimeException> uploadFailure) {
+        String url = withQuery(sasUrl, "comp=block&blockid=" + URLEncoder.encode(blockId, StandardCharsets.UTF_8));
+        for (int attempt = 1; ; attempt++) {
+            if (uploadFailure.get() != null) {
+                // another block failed, so the blob will not be committed
+                return;
+            }
+            HttpPut put = new HttpPut(url);
+            put.setEntity(new FileChannelEntity(file, offset, length));
+            String failure;
+            RequestTiming timing = RequestTiming.start();
+            int status = -1;
+            try {
+                HttpResponse response = newClient(policy).execute(put);
+                status = response.getStatusLine().getStatusCode();
+                EntityUtils.consume(response.getEntity());
+                if (status == 201) {
+                    return;
+                }
+                failure = "HTTP " + status;
+                if (status < 500 && status != 408 && status != 429) {
+                    throw new IllegalStateException("Block " + blockId + " rejected with " + failure);
+                }
+            } catch (IOException e) {
+                put.abort();
+                failure = e.getMessage();
+            } finally {
+                EndpointMetrics.record("PUT", url, status, timing.finish());
+            }
+            if (attempt >= maxAttempts) {
+                throw new IllegalStateException("Block " + blockId + " failed after " + attempt + " attempts: " + failure);
+            }
+            sleep(RETRY_BACKOFF_MS << (attempt - 1));
+        }
+    }
+
+    private Response putBlockList(String sasUrl, List<String> blockIds, EndpointPolicy policy) throws IOException {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?><BlockList>");
+        for (String blockId : blockIds) {
+            xml.append("<Latest>").append(blockId).append("</Latest>");
+        }
+        xml.append("</BlockList>");
+
+        String url = withQuery(sasUrl, "comp=blocklist");
+        HttpPut put = new HttpPut(url);
+        put.setEntity(new StringEntity(xml.toString(), ContentType.APPLICATION_XML));
+        RequestTiming timing = RequestTiming.start();
+        int status = -1;
+        try {
+            Response response = ResponseConverter.toRestAssured(newClient(policy).execute(put));
+            status = response.statusCode();
+            return response;
+        } catch (IOException e) {
+            put.abort();
+            throw e;
+        } finally {
+            EndpointMetrics.record("PUT", url, status, timing.finish());
+        }
+    }
+
+    private static HttpClient newClient(EndpointPolicy policy) {
+        return HttpClientPool.newClient(policy.getConnectTimeoutMs(), policy.getReadTimeoutMs());
+    }
+
+    /**
+     * Azure requires every block ID of a blob to be base64 of the same length
+     */
+    private static String blockId(int index) {
+        return Base64.getEncoder().encodeToString(String.format("block-%08d", index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String withQuery(String url, String query) {
+        return url + (url.contains("?") ? "&" : "?") + query;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying block upload", e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package base.http;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Request entity that streams a region of a file from disk.
+ * <p>
+ * The region is read with positional {@link FileChannel} reads into one reused 64 KB heap
+ * buffer that is written to the socket's stream after each read, so at most that much of
+ * the file is on the Java heap at a time and memory use stays flat whatever its size.
+ * The entity can be replayed, which lets retries resend the same region.
+ */
+public class FileChannelEntity extends AbstractHttpEntity {
+
+    private static final int COPY_CHUNK_BYTES = 64 * 1024;
+
+    private final Path path;
+    private final long offset;
+    private final long length;
+
+    public FileChannelEntity(Path path) throws IOException {
+        this(path, 0, Files.size(path));
+    }
+
+    public FileChannelEntity(Path path, long offset, long length) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        InputStream in = Files.newInputStream(path, StandardOpenOption.READ);
+        in.skipNBytes(offset);
+        return in;
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        byte[] chunk = new byte[(int) Math.min(COPY_CHUNK_BYTES, Math.max(1, length))];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(chunk.length, end - position));
+                int count = channel.read(buffer, position);
+                if (count < 0) {
+                    throw new EOFException(path + " ended " + (end - position) + " bytes before the expected length");
+                }
+                outStream.write(chunk, 0, count);
+                position += count;
+            }
+        }
+        outStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "<" + length + " bytes streamed from " + path + ">";
+    }
+}
@@ -0,0 +1,263 @@
+package base.http;
+
+import base.ApplicationConfig;
+import base.FrameworkConfig;
+import base.metrics.RequestTiming;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.RequestWrapper;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.http.protocol.HttpContext;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Shared keep-alive connection pool behind every RestAssured call.
+ * <p>
+ * RestAssured asks for a new {@link HttpClient} per request; each one handed out here is a
+ * thin {@link DefaultHttpClient} over the same pooling connection manager, so TCP and TLS
+ * connections survive between requests while per-request client params stay isolated.
+ * One trust-all {@link SSLContext} backs every https connection so TLS sessions are resumed.
+ * Every client also feeds the connect, first-byte and payload figures of the thread's
+ * {@link RequestTiming}, if one is open; connect time is taken around the socket connect and
+ * TLS handshake in the pool's connection operator, so filters and the pool lease are not in it.
+ * <p>
+ * Pool sizes and socket timeouts come from {@link FrameworkConfig} and follow its reloads.
+ * The remaining settings are read once, as system properties or framework config entries:
+ * <ul>
+ *     <li>{@code http.pool.keepAliveMs} - keep-alive when the server sends no hint (default 30000)</li>
+ *     <li>{@code http.pool.idleEvictMs} - close connections idle for longer than this (default 60000)</li>
+ *     <li>{@code http.pool.evictionIntervalMs} - how often the evictor runs (default 5000)</li>
+ * </ul>
+ */
+@SuppressWarnings("deprecation")
+public final class HttpClientPool {
+
+    private static final long KEEP_ALIVE_MS = ApplicationConfig.getLongProperty("http.pool.keepAliveMs", 30_000);
+    private static final long IDLE_EVICT_MS = ApplicationConfig.getLongProperty("http.pool.idleEvictMs", 60_000);
+    private static final long EVICTION_INTERVAL_MS = ApplicationConfig.getLongProperty("http.pool.evictionIntervalMs", 5_000);
+
+    private static final PoolingClientConnectionManager CONNECTION_MANAGER = createConnectionManager();
+    private static final ConnectionKeepAliveStrategy KEEP_ALIVE_STRATEGY = (response, context) -> {
+        long serverHint = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        return serverHint > 0 ? serverHint : KEEP_ALIVE_MS;
+    };
+
+    private static final String SENT_BYTES_BASELINE = "timing.sentBytesBaseline";
+    private static final HttpRequestInterceptor TIMING_REQUEST_PROBE = (request, context) -> {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return;
+        }
+        timing.markConnectionReady();
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest
+                ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        timing.setBytesOut(entity == null ? 0 : entity.getContentLength());
+        HttpConnection connection = connectionOf(context);
+        if (connection != null) {
+            context.setAttribute(SENT_BYTES_BASELINE, connection.getMetrics().getSentBytesCount());
+        }
+    };
+    private static final HttpResponseInterceptor TIMING_RESPONSE_PROBE = (response, context) -> {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return;
+        }
+        timing.markFirstByte();
+        if (response.getEntity() != null && response.getEntity().getContentLength() >= 0) {
+            timing.setBytesIn(response.getEntity().getContentLength());
+        }
+        // Chunked bodies have no declared length; fall back to what went over the wire, headers included
+        Object baseline = context.getAttribute(SENT_BYTES_BASELINE);
+        HttpConnection connection = connectionOf(context);
+        if (timing.getBytesOut() < 0 && baseline != null && connection != null) {
+            timing.setBytesOut(connection.getMetrics().getSentBytesCount() - (Long) baseline);
+        }
+    };
+
+    private static final ThreadLocal<Consumer<HttpUriRequest>> SENT_REQUEST_LISTENER = new ThreadLocal<>();
+    private static final HttpRequestInterceptor SENT_REQUEST_PROBE = (request, context) -> {
+        Consumer<HttpUriRequest> listener = SENT_REQUEST_LISTENER.get();
+        if (listener == null) {
+            return;
+        }
+        HttpRequest original = request instanceof RequestWrapper ? ((RequestWrapper) request).getOriginal() : request;
+        if (original instanceof HttpUriRequest) {
+            listener.accept((HttpUriRequest) original);
+        }
+    };
+
+    static {
+        FrameworkConfig.addReloadListener(config -> applyPoolSizes(CONNECTION_MANAGER, config));
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            CONNECTION_MANAGER.closeExpiredConnections();
+            CONNECTION_MANAGER.closeIdleConnections(IDLE_EVICT_MS, TimeUnit.MILLISECONDS);
+        }, EVICTION_INTERVAL_MS, EVICTION_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private HttpClientPool() {
+    }
+
+    /**
+     * Creates a client bound to the shared pool; cheap enough to call per request
+     */
+    public static HttpClient newClient() {
+        FrameworkConfig config = FrameworkConfig.current();
+        return newClient(config.getConnectTimeoutMs(), config.getReadTimeoutMs());
+    }
+
+    /**
+     * Same as {@link #newClient()} with explicit socket timeouts in milliseconds, 0 waits forever
+     */
+    public static HttpClient newClient(int connectTimeoutMs, int readTimeoutMs) {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTION_MANAGER);
+        HttpConnectionParams.setConnectionTimeout(client.getParams(), connectTimeoutMs);
+        HttpConnectionParams.setSoTimeout(client.getParams(), readTimeoutMs);
+        client.setKeepAliveStrategy(KEEP_ALIVE_STRATEGY);
+        client.addRequestInterceptor(TIMING_REQUEST_PROBE);
+        client.addRequestInterceptor(SENT_REQUEST_PROBE);
+        client.addResponseInterceptor(TIMING_RESPONSE_PROBE);
+        return client;
+    }
+
+    /**
+     * Runs the call, handing every request it sends from this thread through a pooled client to the
+     * listener, e.g. so another thread can {@link HttpUriRequest#abort() abort} it
+     */
+    public static <T> T reportingSentRequests(Consumer<HttpUriRequest> listener, Supplier<T> call) {
+        Consumer<HttpUriRequest> previous = SENT_REQUEST_LISTENER.get();
+        SENT_REQUEST_LISTENER.set(listener);
+        try {
+            return call.get();
+        } finally {
+            SENT_REQUEST_LISTENER.set(previous);
+        }
+    }
+
+    /**
+     * Totals across all routes: leased, pending, available and max connections
+     */
+    public static PoolStats getTotalStats() {
+        return CONNECTION_MANAGER.getTotalStats();
+    }
+
+    public static String describeStats() {
+        PoolStats stats = getTotalStats();
+        return String.format("HTTP pool: leased=%d, available=%d, pending=%d, max=%d",
+                stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    private static void applyPoolSizes(PoolingClientConnectionManager connectionManager, FrameworkConfig config) {
+        connectionManager.setMaxTotal(config.getMaxTotalConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+    }
+
+    private static HttpConnection connectionOf(HttpContext context) {
+        return (HttpConnection) context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+    }
+
+    private static PoolingClientConnectionManager createConnectionManager() {
+        SchemeRegistry schemeRegistry = new SchemeRegistry();
+        schemeRegistry.register(new Scheme("http", 80, PlainSocketFactory.getSocketFactory()));
+        schemeRegistry.register(new Scheme("https", 443,
+                new SSLSocketFactory(createTrustAllSslContext(), SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER)));
+
+        PoolingClientConnectionManager connectionManager = new PoolingClientConnectionManager(schemeRegistry) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry registry) {
+                return new TimedConnectionOperator(registry);
+            }
+        };
+        applyPoolSizes(connectionManager, FrameworkConfig.current());
+        return connectionManager;
+    }
+
+    /**
+     * Adds the time spent opening each new connection to the thread's {@link RequestTiming};
+     * the pool opens connections on the thread that executes the request
+     */
+    private static final class TimedConnectionOperator extends DefaultClientConnectionOperator {
+
+        TimedConnectionOperator(SchemeRegistry registry) {
+            super(registry);
+        }
+
+        @Override
+        public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.openConnection(connection, target, local, context, params);
+            } finally {
+                RequestTiming timing = RequestTiming.current();
+                if (timing != null) {
+                    timing.addConnectNanos(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Same relaxed validation RestAssured applied before, but built once so sessions are cached
+     */
+    private static SSLContext createTrustAllSslContext() {
+        TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]{trustAll}, new SecureRandom());
+            return sslContext;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to initialise SSL context: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package base.http;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapts responses of calls made directly on the pooled client into RestAssured responses
+ */
+public final class ResponseConverter {
+
+    private ResponseConverter() {
+    }
+
+    /**
+     * Reads the body fully, which also hands the connection back to the pool
+     */
+    public static Response toRestAssured(HttpResponse httpResponse) throws IOException {
+        List<Header> headers = new ArrayList<>();
+        for (org.apache.http.Header header : httpResponse.getAllHeaders()) {
+            headers.add(new Header(header.getName(), header.getValue()));
+        }
+        HttpEntity entity = httpResponse.getEntity();
+        ResponseBuilder responseBuilder = new ResponseBuilder()
+                .setStatusCode(httpResponse.getStatusLine().getStatusCode())
+                .setStatusLine(httpResponse.getStatusLine().toString())
+                .setHeaders(new Headers(headers))
+                .setBody(entity == null ? new byte[0] : EntityUtils.toByteArray(entity));
+        if (entity != null && entity.getContentType() != null) {
+            responseBuilder.setContentType(entity.getContentType().getValue());
+        }
+        return responseBuilder.build();
+    }
+}
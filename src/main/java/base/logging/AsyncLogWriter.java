@@ -0,0 +1,100 @@
+package base.logging;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded buffer of log entries written to stdout by a single background thread.
+ * <p>
+ * Entries are formatted on the writer thread, so a request thread only pays for one
+ * non-blocking offer. When the buffer is full the entry is dropped and counted rather
+ * than making the caller wait; the count is reported with the next batch.
+ */
+public final class AsyncLogWriter {
+
+    private static final int MAX_BATCH = 256;
+    private static final long DRAIN_TIMEOUT_MS = 2_000;
+
+    private final BlockingQueue<Supplier<String>> buffer;
+    private final PrintStream out;
+    private final LongAdder dropped = new LongAdder();
+
+    public AsyncLogWriter(int capacity, PrintStream out) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.out = out;
+        Thread writer = new Thread(this::drainForever, "async-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "async-log-flush"));
+    }
+
+    /**
+     * Queues the entry without blocking; it is dropped when the buffer is full
+     */
+    public void log(Supplier<String> entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes whatever is buffered right now, waiting at most briefly for the writer thread
+     */
+    public void flush() {
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        List<Supplier<String>> batch = new ArrayList<>(MAX_BATCH);
+        while (!buffer.isEmpty() && System.currentTimeMillis() < deadline) {
+            buffer.drainTo(batch, MAX_BATCH);
+            write(batch);
+        }
+    }
+
+    private void drainForever() {
+        List<Supplier<String>> batch = new ArrayList<>(MAX_BATCH);
+        long reportedDrops = 0;
+        while (true) {
+            try {
+                Supplier<String> first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, MAX_BATCH - 1);
+                    write(batch);
+                }
+                long drops = dropped.sum();
+                if (drops > reportedDrops) {
+                    out.println("[log] " + (drops - reportedDrops) + " entries dropped, log buffer full");
+                    reportedDrops = drops;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<Supplier<String>> batch) {
+        StringBuilder text = new StringBuilder();
+        for (Supplier<String> entry : batch) {
+            try {
+                text.append(entry.get()).append(System.lineSeparator());
+            } catch (RuntimeException e) {
+                text.append("[log] failed to format entry: ").append(e).append(System.lineSeparator());
+            }
+        }
+        batch.clear();
+        synchronized (out) {
+            out.print(text);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package base.logging;
+
+/**
+ * How much of each request/response {@link RequestLogFilter} writes out
+ */
+public enum LogMode {
+    /**
+     * Nothing
+     */
+    OFF,
+    /**
+     * Request line, status line and headers of every call; no bodies
+     */
+    HEADERS,
+    /**
+     * Full log for failed calls and a random {@code log.sampleRate} share of the rest
+     */
+    SAMPLED,
+    /**
+     * Full log for failed calls only
+     */
+    ERRORS,
+    /**
+     * Full log for every call, the previous {@code LogDetail.ALL} behaviour
+     */
+    ALL
+}
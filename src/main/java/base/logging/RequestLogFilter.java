@@ -0,0 +1,140 @@
+package base.logging;
+
+import base.ApplicationConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * RestAssured filter that logs requests and responses through an {@link AsyncLogWriter}.
+ * <p>
+ * The filter only captures references on the request thread; formatting and console
+ * output happen on the writer thread. Bodies are cut to {@code log.bodyLimitBytes}.
+ * Configured through system properties or the framework config file:
+ * <ul>
+ *     <li>{@code log.mode} - one of {@link LogMode} (default ALL)</li>
+ *     <li>{@code log.sampleRate} - share of successful calls fully logged in SAMPLED mode (default 0.01)</li>
+ *     <li>{@code log.bodyLimitBytes} - longest body printed (default 8192)</li>
+ *     <li>{@code log.bufferSize} - entries buffered before new ones are dropped (default 10000)</li>
+ * </ul>
+ */
+public final class RequestLogFilter implements Filter {
+
+    private static final LogMode MODE = LogMode.valueOf(ApplicationConfig.getProperty("log.mode", LogMode.ALL.name()).toUpperCase());
+    private static final double SAMPLE_RATE = Double.parseDouble(ApplicationConfig.getProperty("log.sampleRate", "0.01"));
+    private static final int BODY_LIMIT_BYTES = ApplicationConfig.getIntProperty("log.bodyLimitBytes", 8192);
+    private static final AsyncLogWriter WRITER = MODE == LogMode.OFF ? null
+            : new AsyncLogWriter(ApplicationConfig.getIntProperty("log.bufferSize", 10_000), System.out);
+    private static final RequestLogFilter INSTANCE = new RequestLogFilter();
+
+    private RequestLogFilter() {
+    }
+
+    /**
+     * The shared filter, or null when logging is off
+     */
+    public static RequestLogFilter getInstance() {
+        return MODE == LogMode.OFF ? null : INSTANCE;
+    }
+
+    public static LogMode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Logs a free-form line for calls made outside RestAssured, unless logging is off or errors-only
+     */
+    public static void logLine(Supplier<String> line) {
+        if (MODE != LogMode.OFF && MODE != LogMode.ERRORS) {
+            WRITER.log(line);
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String uri = requestSpec.getURI();
+        Headers requestHeaders = requestSpec.getHeaders();
+        Object requestBody = requestSpec.getBody();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            if (MODE != LogMode.HEADERS) {
+                WRITER.log(() -> formatRequest(method, uri, requestHeaders, requestBody, true)
+                        + "Request failed:\t" + e);
+            }
+            throw e;
+        }
+
+        boolean failed = response.statusCode() >= 400;
+        boolean full = MODE == LogMode.ALL
+                || (failed && (MODE == LogMode.ERRORS || MODE == LogMode.SAMPLED))
+                || (MODE == LogMode.SAMPLED && ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE);
+        if (full || MODE == LogMode.HEADERS) {
+            // buffered here so the writer thread never touches the connection
+            byte[] responseBody = full ? response.asByteArray() : null;
+            String statusLine = response.statusLine();
+            Headers responseHeaders = response.headers();
+            WRITER.log(() -> formatRequest(method, uri, requestHeaders, requestBody, full)
+                    + formatResponse(statusLine, responseHeaders, responseBody));
+        }
+        return response;
+    }
+
+    private static String formatRequest(String method, String uri, Headers headers, Object body, boolean withBody) {
+        StringBuilder text = new StringBuilder()
+                .append("Request method:\t").append(method).append('\n')
+                .append("Request URI:\t").append(uri).append('\n');
+        appendHeaders(text, "Headers:\t\t", headers);
+        if (withBody) {
+            text.append("Body:\t\t\t").append(truncate(body)).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String formatResponse(String statusLine, Headers headers, byte[] body) {
+        StringBuilder text = new StringBuilder(statusLine).append('\n');
+        appendHeaders(text, "", headers);
+        if (body != null) {
+            text.append('\n').append(truncate(body)).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void appendHeaders(StringBuilder text, String label, Headers headers) {
+        text.append(label);
+        boolean first = true;
+        for (Header header : headers) {
+            if (!first) {
+                text.append(label.isEmpty() ? "" : "\t\t\t\t");
+            }
+            text.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+            first = false;
+        }
+        if (first) {
+            text.append("<none>\n");
+        }
+    }
+
+    private static String truncate(Object body) {
+        if (body == null) {
+            return "<none>";
+        }
+        byte[] bytes = body instanceof byte[] ? (byte[]) body : body.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= BODY_LIMIT_BYTES) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new String(bytes, 0, BODY_LIMIT_BYTES, StandardCharsets.UTF_8)
+                + "... <" + (bytes.length - BODY_LIMIT_BYTES) + " more bytes>";
+    }
+}
@@ -0,0 +1,101 @@
+package base.metrics;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide registry of per-endpoint request statistics.
+ * <p>
+ * Endpoints are keyed by HTTP method and path with IDs replaced by {@code {id}}, so
+ * {@code PATCH /api/candidateScreening/update-candidate-result/{id}} aggregates every
+ * candidate. Pre-signed storage URLs are keyed by their {@code comp} operation only.
+ */
+public final class EndpointMetrics {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(?:[0-9a-fA-F]{24}|\\d+)(?=/|$)");
+    private static final ConcurrentMap<String, EndpointStats> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private EndpointMetrics() {
+    }
+
+    /**
+     * @param statusCode HTTP status, or -1 when the call failed without a response
+     * @param timing     Finished timing of the request
+     */
+    public static void record(String method, String endpoint, int statusCode, RequestTiming timing) {
+        stats(method, endpoint).record(statusCode, timing);
+    }
+
+    public static void recordRetry(String method, String endpoint) {
+        stats(method, endpoint).recordRetry();
+    }
+
+    public static void recordHedge(String method, String endpoint) {
+        stats(method, endpoint).recordHedge();
+    }
+
+    public static void recordRejected(String method, String endpoint) {
+        stats(method, endpoint).recordRejected();
+    }
+
+    public static void recordThrottled(String method, String endpoint) {
+        stats(method, endpoint).recordThrottled();
+    }
+
+    public static void recordConcurrencyLimit(String method, String endpoint, int limit) {
+        stats(method, endpoint).recordConcurrencyLimit(limit);
+    }
+
+    public static void recordBreakerState(String method, String endpoint, String state) {
+        stats(method, endpoint).recordBreakerState(state);
+    }
+
+    private static EndpointStats stats(String method, String endpoint) {
+        return ENDPOINTS.computeIfAbsent(method + " " + normalize(endpoint), key -> new EndpointStats());
+    }
+
+    /**
+     * Sorted copy of the current statistics; the values keep updating
+     */
+    public static Map<String, EndpointStats> snapshot() {
+        return new TreeMap<>(ENDPOINTS);
+    }
+
+    /**
+     * Sorted copy of the current statistics that later calls no longer change
+     */
+    public static Map<String, EndpointStats> frozenSnapshot() {
+        Map<String, EndpointStats> frozen = new TreeMap<>();
+        ENDPOINTS.forEach((endpoint, stats) -> frozen.put(endpoint, stats.copy()));
+        return frozen;
+    }
+
+    public static void reset() {
+        ENDPOINTS.clear();
+    }
+
+    /**
+     * Path with IDs replaced by {@code {id}}, or {@code <blob>} plus its {@code comp} operation for full URLs
+     */
+    public static String normalize(String endpoint) {
+        if (endpoint.startsWith("http://") || endpoint.startsWith("https://")) {
+            String query = URI.create(endpoint).getRawQuery();
+            String operation = "";
+            if (query != null) {
+                for (String pair : query.split("&")) {
+                    if (pair.startsWith("comp=")) {
+                        operation = "?" + pair;
+                    }
+                }
+            }
+            return "<blob>" + operation;
+        }
+        int queryStart = endpoint.indexOf('?');
+        String path = queryStart < 0 ? endpoint : endpoint.substring(0, queryStart);
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,176 @@
+package base.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing, payload and error counters of one endpoint (HTTP method + normalized path).
+ * Phases that a request never reached, such as time to first byte after a connect failure,
+ * are left out of their histogram. Every attempt of a retried or hedged call is recorded as
+ * a request of its own; the resilience counters tell how many of them were extra.
+ */
+public final class EndpointStats {
+
+    private final Histogram connect;
+    private final Histogram timeToFirstByte;
+    private final Histogram latency;
+    private final Histogram bytesOut;
+    private final Histogram bytesIn;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private volatile String breakerState = "-";
+    private volatile int concurrencyLimit = -1;
+
+    EndpointStats() {
+        this(new Histogram(), new Histogram(), new Histogram(), new Histogram(), new Histogram());
+    }
+
+    private EndpointStats(Histogram connect, Histogram timeToFirstByte, Histogram latency, Histogram bytesOut,
+                          Histogram bytesIn) {
+        this.connect = connect;
+        this.timeToFirstByte = timeToFirstByte;
+        this.latency = latency;
+        this.bytesOut = bytesOut;
+        this.bytesIn = bytesIn;
+    }
+
+    /**
+     * Copy of the statistics so far that later calls no longer change
+     */
+    EndpointStats copy() {
+        EndpointStats copy = new EndpointStats(connect.copy(), timeToFirstByte.copy(), latency.copy(),
+                bytesOut.copy(), bytesIn.copy());
+        copy.errors.add(errors.sum());
+        copy.retries.add(retries.sum());
+        copy.hedges.add(hedges.sum());
+        copy.rejected.add(rejected.sum());
+        copy.throttled.add(throttled.sum());
+        copy.breakerState = breakerState;
+        copy.concurrencyLimit = concurrencyLimit;
+        return copy;
+    }
+
+    void record(int statusCode, RequestTiming timing) {
+        latency.record(timing.getTotalNanos());
+        recordIfKnown(connect, timing.getConnectNanos());
+        recordIfKnown(timeToFirstByte, timing.getTimeToFirstByteNanos());
+        recordIfKnown(bytesOut, timing.getBytesOut());
+        recordIfKnown(bytesIn, timing.getBytesIn());
+        if (statusCode < 200 || statusCode >= 400) {
+            errors.increment();
+        }
+    }
+
+    private static void recordIfKnown(Histogram histogram, long value) {
+        if (value >= 0) {
+            histogram.record(value);
+        }
+    }
+
+    /**
+     * Nanoseconds spent in socket connect and TLS handshake, 0 when a pooled connection was reused
+     */
+    public Histogram getConnect() {
+        return connect;
+    }
+
+    /**
+     * Nanoseconds from the call until the response headers arrived
+     */
+    public Histogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    /**
+     * Total request time in nanoseconds, body read included
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Request body size in bytes
+     */
+    public Histogram getBytesOut() {
+        return bytesOut;
+    }
+
+    /**
+     * Response body size in bytes
+     */
+    public Histogram getBytesIn() {
+        return bytesIn;
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Attempts sent again after a failed one
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Second copies sent because the first was slow
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * Calls failed fast by an open circuit breaker
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Attempts that waited for a slot of the adaptive concurrency limiter
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Adaptive concurrency limit as of the last call, -1 without a limiter
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Circuit breaker state as of the last call, {@code -} without a breaker
+     */
+    public String getBreakerState() {
+        return breakerState;
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordHedge() {
+        hedges.increment();
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void recordThrottled() {
+        throttled.increment();
+    }
+
+    void recordConcurrencyLimit(int limit) {
+        concurrencyLimit = limit;
+    }
+
+    void recordBreakerState(String state) {
+        breakerState = state;
+    }
+}
@@ -0,0 +1,104 @@
+package base.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, log-linear histogram in the style of HdrHistogram.
+ * <p>
+ * Values are bucketed by their power of two and then linearly into 32 sub-buckets,
+ * which keeps every recorded value within ~3% of its true magnitude. Recording is a
+ * handful of atomic increments, so many threads can record into one instance.
+ * Used for latencies in nanoseconds as well as payload sizes in bytes.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 46;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        buckets.incrementAndGet(indexOf(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulateAndGet(clamped, Math::max);
+    }
+
+    /**
+     * Copy of the values recorded so far; concurrent records may or may not be included
+     */
+    Histogram copy() {
+        Histogram copy = new Histogram();
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            copy.buckets.set(index, buckets.get(index));
+        }
+        copy.count.add(count.sum());
+        copy.sum.add(sum.sum());
+        copy.max.set(max.get());
+        return copy;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotal() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Value at the given percentile (0-100), reported as the midpoint of its bucket
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += buckets.get(index);
+            if (seen >= rank) {
+                long lower = lowerBoundOf(index);
+                long upper = index + 1 < BUCKET_COUNT ? lowerBoundOf(index + 1) - 1 : lower;
+                return Math.min(lower + (upper - lower) / 2, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return Math.min((shift + 1) * SUB_BUCKETS + subBucket, BUCKET_COUNT - 1);
+    }
+
+    static long lowerBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return ((long) SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+}
@@ -0,0 +1,142 @@
+package base.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders {@link EndpointMetrics} as a console table, CSV or JSON.
+ * <p>
+ * Times are reported in milliseconds and sizes in bytes. Every format starts with the error,
+ * retry, hedge, circuit-breaker rejection and throttled counts, the adaptive concurrency limit
+ * and the breaker state. CSV and JSON carry every
+ * histogram (connect, time to first byte, total, bytes out, bytes in) with count, mean,
+ * p50, p90, p99, p99.9 and max; the table keeps the columns that matter for regressions.
+ */
+public final class MetricsReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final List<String> HISTOGRAMS = List.of("connect_ms", "ttfb_ms", "total_ms", "bytes_out", "bytes_in");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MetricsReport() {
+    }
+
+    public static String table(Map<String, EndpointStats> endpoints) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-72s %7s %6s %7s %6s %8s %9s %5s %-9s %9s %9s %9s %9s %9s %9s %9s %9s %10s %10s%n",
+                "Endpoint", "count", "errors", "retries", "hedges", "rejected", "throttled", "limit", "breaker", "conn p50", "conn p99", "ttfb p50", "ttfb p99",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms", "avg out B", "avg in B"));
+        endpoints.forEach((endpoint, stats) -> table.append(String.format(
+                "%-72s %7d %6d %7d %6d %8d %9d %5s %-9s %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %10.0f %10.0f%n",
+                endpoint, stats.getLatency().getCount(), stats.getErrorCount(), stats.getRetryCount(),
+                stats.getHedgeCount(), stats.getRejectedCount(), stats.getThrottledCount(),
+                stats.getConcurrencyLimit() < 0 ? "-" : String.valueOf(stats.getConcurrencyLimit()), stats.getBreakerState(),
+                millis(stats.getConnect(), 50), millis(stats.getConnect(), 99),
+                millis(stats.getTimeToFirstByte(), 50), millis(stats.getTimeToFirstByte(), 99),
+                millis(stats.getLatency(), 50), millis(stats.getLatency(), 99), millis(stats.getLatency(), 99.9),
+                stats.getLatency().getMax() / NANOS_PER_MILLI,
+                stats.getBytesOut().getMean(), stats.getBytesIn().getMean())));
+        return table.toString();
+    }
+
+    public static String csv(Map<String, EndpointStats> endpoints) {
+        StringBuilder csv = new StringBuilder("endpoint,errors,retries,hedges,rejected,throttled,limit,breaker");
+        HISTOGRAMS.forEach(name -> {
+            csv.append(',').append(name).append("_count").append(',').append(name).append("_mean");
+            for (double percentile : PERCENTILES) {
+                csv.append(',').append(name).append("_p").append(label(percentile));
+            }
+            csv.append(',').append(name).append("_max");
+        });
+        csv.append('\n');
+        endpoints.forEach((endpoint, stats) -> {
+            csv.append('"').append(endpoint.replace("\"", "\"\"")).append('"').append(',').append(stats.getErrorCount())
+                    .append(',').append(stats.getRetryCount()).append(',').append(stats.getHedgeCount())
+                    .append(',').append(stats.getRejectedCount()).append(',').append(stats.getThrottledCount())
+                    .append(',').append(stats.getConcurrencyLimit()).append(',').append(stats.getBreakerState());
+            histograms(stats).forEach((name, summary) -> summary.values().forEach(value -> csv.append(',').append(value)));
+            csv.append('\n');
+        });
+        return csv.toString();
+    }
+
+    public static String json(Map<String, EndpointStats> endpoints) {
+        ArrayNode root = MAPPER.createArrayNode();
+        endpoints.forEach((endpoint, stats) -> {
+            ObjectNode node = root.addObject();
+            node.put("endpoint", endpoint);
+            node.put("errors", stats.getErrorCount());
+            node.put("retries", stats.getRetryCount());
+            node.put("hedges", stats.getHedgeCount());
+            node.put("rejected", stats.getRejectedCount());
+            node.put("throttled", stats.getThrottledCount());
+            node.put("limit", stats.getConcurrencyLimit());
+            node.put("breaker", stats.getBreakerState());
+            histograms(stats).forEach((name, summary) -> {
+                ObjectNode histogram = node.putObject(name);
+                summary.forEach(histogram::putPOJO);
+            });
+        });
+        try {
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to render metrics as JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes {@code endpoint-metrics.csv} and {@code endpoint-metrics.json} into the directory
+     */
+    public static void write(Map<String, EndpointStats> endpoints, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("endpoint-metrics.csv"), csv(endpoints).getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve("endpoint-metrics.json"), json(endpoints).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write endpoint metrics to " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Summaries of every histogram, keyed and ordered as {@link #HISTOGRAMS}
+     */
+    private static Map<String, Map<String, Number>> histograms(EndpointStats stats) {
+        List<Histogram> values = List.of(stats.getConnect(), stats.getTimeToFirstByte(), stats.getLatency(),
+                stats.getBytesOut(), stats.getBytesIn());
+        Map<String, Map<String, Number>> histograms = new LinkedHashMap<>();
+        for (int index = 0; index < HISTOGRAMS.size(); index++) {
+            String name = HISTOGRAMS.get(index);
+            histograms.put(name, summarize(values.get(index), name.endsWith("_ms") ? NANOS_PER_MILLI : 1));
+        }
+        return histograms;
+    }
+
+    private static Map<String, Number> summarize(Histogram histogram, double divisor) {
+        Map<String, Number> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getCount());
+        summary.put("mean", histogram.getMean() / divisor);
+        for (double percentile : PERCENTILES) {
+            summary.put("p" + label(percentile), histogram.getValueAtPercentile(percentile) / divisor);
+        }
+        summary.put("max", histogram.getMax() / divisor);
+        return summary;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
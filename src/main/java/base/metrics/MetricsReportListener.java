@@ -0,0 +1,29 @@
+package base.metrics;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Prints the endpoint metrics table when a suite finishes and writes the CSV and JSON
+ * dumps to {@code metrics.outputDir} (default {@code target/endpoint-metrics}).
+ */
+public class MetricsReportListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, EndpointStats> endpoints = EndpointMetrics.snapshot();
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        String table = MetricsReport.table(endpoints);
+        System.out.println("Endpoint metrics for " + suite.getName() + System.lineSeparator() + table);
+
+        Path outputDir = Paths.get(System.getProperty("metrics.outputDir", "target/endpoint-metrics"));
+        MetricsReport.write(endpoints, outputDir);
+        System.out.println("Endpoint metrics written to " + outputDir.toAbsolutePath());
+    }
+}
@@ -0,0 +1,104 @@
+package base.metrics;
+
+/**
+ * Phase timestamps and payload sizes of the request running on the current thread.
+ * <p>
+ * The caller opens it with {@link #start()} before sending and closes it with {@link #finish()};
+ * in between the HTTP client adds the time spent opening connections and marks when the
+ * response headers arrived. Requests are synchronous, so a thread-local is enough to
+ * connect the two without passing anything through RestAssured.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private long connectNanos = -1;
+    private long firstByteNanos = -1;
+    private long endNanos = -1;
+    private long bytesOut = -1;
+    private long bytesIn = -1;
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * The request in progress on this thread, or null when it is not being timed
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public RequestTiming finish() {
+        endNanos = System.nanoTime();
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        return this;
+    }
+
+    /**
+     * Time spent opening a new connection: socket connect and, for https, the TLS handshake.
+     * Added up when a failed connect is retried.
+     */
+    public void addConnectNanos(long nanos) {
+        connectNanos = Math.max(connectNanos, 0) + nanos;
+    }
+
+    /**
+     * Request about to be written; a request that opened no connection reused a pooled one
+     */
+    public void markConnectionReady() {
+        if (connectNanos < 0) {
+            connectNanos = 0;
+        }
+    }
+
+    /**
+     * Status line and headers of the response received
+     */
+    public void markFirstByte() {
+        firstByteNanos = System.nanoTime();
+    }
+
+    public void setBytesOut(long bytesOut) {
+        this.bytesOut = bytesOut;
+    }
+
+    public void setBytesIn(long bytesIn) {
+        this.bytesIn = bytesIn;
+    }
+
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    /**
+     * @return Nanoseconds spent opening connections, 0 for a reused connection, or -1 when the
+     * request neither opened nor reused one
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * @return Nanoseconds until the response headers arrived, or -1 when none did
+     */
+    public long getTimeToFirstByteNanos() {
+        return firstByteNanos < 0 ? -1 : firstByteNanos - startNanos;
+    }
+
+    public long getTotalNanos() {
+        return (endNanos < 0 ? System.nanoTime() : endNanos) - startNanos;
+    }
+}
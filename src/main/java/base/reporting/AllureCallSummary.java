@@ -0,0 +1,68 @@
+package base.reporting;
+
+import base.metrics.Histogram;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint tally of the calls that were not attached in {@link AllureMode#SAMPLED} mode,
+ * published as one Allure step per endpoint. Tallies are kept per Allure test case so tests
+ * running in parallel only see their own calls; calls made outside a test are not tallied.
+ */
+public final class AllureCallSummary {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final ConcurrentMap<String, ConcurrentMap<String, Tally>> TALLIES_BY_TEST_CASE = new ConcurrentHashMap<>();
+
+    private AllureCallSummary() {
+    }
+
+    static void record(String endpoint, int statusCode, long elapsedNanos, boolean attached) {
+        Optional<String> testCase = Allure.getLifecycle().getCurrentTestCase();
+        if (testCase.isEmpty()) {
+            return;
+        }
+        Tally tally = TALLIES_BY_TEST_CASE.computeIfAbsent(testCase.get(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(endpoint, key -> new Tally());
+        tally.latency.record(elapsedNanos);
+        if (statusCode >= 400) {
+            tally.failed.increment();
+        }
+        if (attached) {
+            tally.attached.increment();
+        }
+    }
+
+    /**
+     * Adds a step per endpoint to the running test and discards its tally; failed steps mark
+     * endpoints that returned errors
+     */
+    public static void publish() {
+        Optional<String> testCase = Allure.getLifecycle().getCurrentTestCase();
+        Map<String, Tally> testCaseTallies = testCase.map(TALLIES_BY_TEST_CASE::remove).orElse(null);
+        if (testCaseTallies == null) {
+            return;
+        }
+        new TreeMap<>(testCaseTallies).forEach((endpoint, tally) -> {
+            long failed = tally.failed.sum();
+            Allure.step(String.format("%s: %d calls, %d failed, %d attached, p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    endpoint, tally.latency.getCount(), failed, tally.attached.sum(),
+                    tally.latency.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    tally.latency.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    tally.latency.getMax() / NANOS_PER_MILLI), failed > 0 ? Status.FAILED : Status.PASSED);
+        });
+    }
+
+    private static final class Tally {
+        private final Histogram latency = new Histogram();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder attached = new LongAdder();
+    }
+}
@@ -0,0 +1,20 @@
+package base.reporting;
+
+/**
+ * How much of each HTTP call goes into the Allure results
+ */
+public enum AllureMode {
+    /**
+     * Request and response attached for every call, the previous behaviour
+     */
+    FULL,
+    /**
+     * Attachments for failed calls and a random {@code allure.sampleRate} share of the rest;
+     * every call is also counted in a per-endpoint summary step at the end of the test
+     */
+    SAMPLED,
+    /**
+     * No HTTP attachments or summaries
+     */
+    OFF
+}
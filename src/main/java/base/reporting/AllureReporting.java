@@ -0,0 +1,111 @@
+package base.reporting;
+
+import base.ApplicationConfig;
+import base.FrameworkConfig;
+import base.metrics.EndpointMetrics;
+import io.qameta.allure.Allure;
+import io.qameta.allure.attachment.DefaultAttachmentProcessor;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses the Allure filter for HTTP calls according to {@code allure.mode} (see {@link AllureMode}).
+ * <p>
+ * In SAMPLED mode the outcome of a call is known before anything is written, so only failed
+ * calls and {@code allure.sampleRate} (default 0.01) of the successful ones are attached, using
+ * the same templates as {@link AllureRestAssured}. Calls made outside a running test, such as
+ * load-generator workers, are never attached. Every call made in a test is tallied in
+ * {@link AllureCallSummary}.
+ */
+public final class AllureReporting {
+
+    private static final AllureMode MODE = AllureMode.valueOf(
+            ApplicationConfig.getProperty("allure.mode", AllureMode.FULL.name()).toUpperCase());
+    private static final double SAMPLE_RATE = Double.parseDouble(ApplicationConfig.getProperty("allure.sampleRate", "0.01"));
+    private static final Filter SAMPLED_FILTER = AllureReporting::sampledFilter;
+
+    private AllureReporting() {
+    }
+
+    public static AllureMode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Filter for a new request, or null when Allure reporting of HTTP calls is off
+     */
+    public static Filter requestFilter() {
+        switch (MODE) {
+            case FULL:
+                return new AllureRestAssured();
+            case SAMPLED:
+                return SAMPLED_FILTER;
+            default:
+                return null;
+        }
+    }
+
+    private static Response sampledFilter(FilterableRequestSpecification requestSpec,
+                                          FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsedNanos = System.nanoTime() - start;
+
+        boolean inTest = Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent();
+        boolean attach = inTest && (response.statusCode() >= 400 || ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE);
+        if (attach) {
+            attach(requestSpec, response);
+        }
+        AllureCallSummary.record(requestSpec.getMethod() + " " + endpointOf(requestSpec),
+                response.statusCode(), elapsedNanos, attach);
+        return response;
+    }
+
+    /**
+     * Backend calls by normalized path, pre-signed storage URLs by operation
+     */
+    private static String endpointOf(FilterableRequestSpecification requestSpec) {
+        boolean backend = requestSpec.getBaseUri() != null
+                && requestSpec.getBaseUri().equals(FrameworkConfig.current().getBaseUri());
+        return EndpointMetrics.normalize(backend ? requestSpec.getDerivedPath() : requestSpec.getURI());
+    }
+
+    private static void attach(FilterableRequestSpecification requestSpec, Response response) {
+        HttpRequestAttachment.Builder request = HttpRequestAttachment.Builder.create("Request", requestSpec.getURI())
+                .setMethod(requestSpec.getMethod())
+                .setHeaders(toMap(requestSpec.getHeaders()))
+                .setFormParams(requestSpec.getFormParams());
+        if (requestSpec.getBody() != null) {
+            request.setBody(requestSpec.getBody().toString());
+        }
+        HttpResponseAttachment.Builder responseAttachment = HttpResponseAttachment.Builder.create(response.getStatusLine())
+                .setResponseCode(response.getStatusCode())
+                .setHeaders(toMap(response.getHeaders()))
+                .setBody(response.asPrettyString());
+
+        DefaultAttachmentProcessor processor = new DefaultAttachmentProcessor();
+        processor.addAttachment(request.build(), new FreemarkerAttachmentRenderer("http-request.ftl"));
+        processor.addAttachment(responseAttachment.build(), new FreemarkerAttachmentRenderer("http-response.ftl"));
+    }
+
+    private static Map<String, String> toMap(Headers headers) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (Header header : headers) {
+            map.put(header.getName(), header.getValue());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,20 @@
+package base.reporting;
+
+import io.qameta.allure.Allure;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Publishes the {@link AllureCallSummary} into each test before Allure closes it
+ */
+public class AllureSummaryListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && AllureReporting.getMode() == AllureMode.SAMPLED
+                && Allure.getLifecycle().getCurrentTestCase().isPresent()) {
+            AllureCallSummary.publish();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package base.resilience;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit of one endpoint, adapted to the latency and overload signals it observes.
+ * <p>
+ * A call waits while {@code limit} calls are already in flight. Each finished call is a sample
+ * that updates a short-term and a long-term moving average of the latency. A 429 or 503, an I/O
+ * failure, or a short-term latency above {@code latencyTolerance} times the long-term one (the
+ * backend has started queueing) cuts the limit to {@code backoffRatio} of its value; any other
+ * sample taken while at least half the limit was in use raises it by one. The limit settles
+ * where the backend is busy but not queueing, which is the most goodput it can give.
+ */
+final class AdaptiveLimiter {
+
+    private static final double SHORT_RTT_WEIGHT = 0.2;
+    private static final double LONG_RTT_WEIGHT = 0.02;
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition permitFreed = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private double shortRttNanos = -1;
+    private double longRttNanos = -1;
+
+    AdaptiveLimiter(EndpointPolicy policy) {
+        this.minLimit = Math.max(1, policy.getLimitMin());
+        this.maxLimit = Math.max(minLimit, policy.getLimitMax());
+        this.backoffRatio = policy.getLimitBackoffRatio();
+        this.latencyTolerance = policy.getLimitLatencyTolerance();
+        this.limit = Math.min(maxLimit, Math.max(minLimit, policy.getLimitInitial()));
+    }
+
+    /**
+     * Waits for a free slot; every acquire must be followed by {@link #release}
+     *
+     * @return Whether the call had to wait
+     */
+    boolean acquire() {
+        lock.lock();
+        try {
+            boolean waited = false;
+            while (inFlight >= (int) limit) {
+                waited = true;
+                permitFreed.await();
+            }
+            inFlight++;
+            return waited;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a concurrency slot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param rttNanos Duration of the call
+     * @param dropped  True when the backend signalled overload, false for a normal answer,
+     *                 null when the call failed in a way that says nothing about load
+     */
+    void release(long rttNanos, Boolean dropped) {
+        lock.lock();
+        try {
+            int inFlightBefore = inFlight--;
+            if (dropped != null) {
+                if (shortRttNanos < 0) {
+                    shortRttNanos = rttNanos;
+                    longRttNanos = rttNanos;
+                }
+                shortRttNanos += (rttNanos - shortRttNanos) * SHORT_RTT_WEIGHT;
+                longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_WEIGHT;
+                if (dropped || shortRttNanos > longRttNanos * latencyTolerance) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                } else if (inFlightBefore * 2 >= limit) {
+                    limit = Math.min(maxLimit, limit + 1);
+                }
+            }
+            permitFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
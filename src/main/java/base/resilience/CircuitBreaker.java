@@ -0,0 +1,132 @@
+package base.resilience;
+
+import base.logging.RequestLogFilter;
+
+/**
+ * Count-based circuit breaker of one endpoint.
+ * <p>
+ * CLOSED lets every call through and keeps the outcome of the last {@code windowSize} calls;
+ * once at least {@code minimumCalls} of them are known and the failure rate reaches
+ * {@code failureRatePercent} the breaker opens. OPEN rejects calls for {@code openMs}, then
+ * HALF_OPEN lets a single trial through: success closes the breaker with an empty window,
+ * failure opens it again.
+ * <p>
+ * Every permit carries the generation it was issued in, and each state change starts a new
+ * generation. Results of calls sent in an earlier generation are ignored, so a slow call from
+ * before the breaker opened can neither decide the trial nor pollute the fresh window.
+ */
+final class CircuitBreaker {
+
+    enum State {CLOSED, OPEN, HALF_OPEN}
+
+    /**
+     * Returned by {@link #tryAcquire()} when the call must not be sent
+     */
+    static final long REJECTED = -1;
+
+    private final String endpoint;
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private long generation;
+    private boolean trialInFlight;
+
+    CircuitBreaker(String endpoint, EndpointPolicy policy) {
+        this.endpoint = endpoint;
+        this.window = new boolean[policy.getBreakerWindowSize()];
+        this.minimumCalls = Math.min(policy.getBreakerMinimumCalls(), window.length);
+        this.failureRatePercent = policy.getBreakerFailureRatePercent();
+        this.openNanos = policy.getBreakerOpenMs() * 1_000_000;
+    }
+
+    /**
+     * @return The permit of a call that may be sent, or {@link #REJECTED}; every permitted call must be
+     * followed by {@link #onResult} with its permit
+     */
+    synchronized long tryAcquire() {
+        switch (state) {
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return REJECTED;
+                }
+                transition(State.HALF_OPEN);
+                trialInFlight = true;
+                return generation;
+            case HALF_OPEN:
+                if (trialInFlight) {
+                    return REJECTED;
+                }
+                trialInFlight = true;
+                return generation;
+            default:
+                return generation;
+        }
+    }
+
+    synchronized void onResult(long permit, boolean failed) {
+        if (permit != generation) {
+            // sent before the last state change
+            return;
+        }
+        switch (state) {
+            case HALF_OPEN:
+                trialInFlight = false;
+                if (failed) {
+                    open("the trial call failed");
+                } else {
+                    next = 0;
+                    calls = 0;
+                    failures = 0;
+                    transition(State.CLOSED);
+                }
+                return;
+            case OPEN:
+                // no permits are issued while open
+                return;
+            default:
+                if (calls == window.length && window[next]) {
+                    failures--;
+                }
+                window[next] = failed;
+                next = (next + 1) % window.length;
+                calls = Math.min(calls + 1, window.length);
+                if (failed) {
+                    failures++;
+                }
+                if (calls >= minimumCalls && failures * 100 >= failureRatePercent * calls) {
+                    open(failures + " of the last " + calls + " calls failed");
+                }
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Milliseconds until an open breaker lets a trial through, 0 otherwise
+     */
+    synchronized long getRemainingOpenMs() {
+        return state == State.OPEN ? Math.max(0, (openNanos - (System.nanoTime() - openedAt)) / 1_000_000) : 0;
+    }
+
+    private void open(String reason) {
+        openedAt = System.nanoTime();
+        state = State.OPEN;
+        generation++;
+        RequestLogFilter.logLine(() -> "Circuit breaker for " + endpoint + " is now OPEN: " + reason);
+    }
+
+    private void transition(State newState) {
+        state = newState;
+        generation++;
+        RequestLogFilter.logLine(() -> "Circuit breaker for " + endpoint + " is now " + newState);
+    }
+}
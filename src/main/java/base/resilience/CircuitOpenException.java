@@ -0,0 +1,13 @@
+package base.resilience;
+
+/**
+ * Thrown instead of sending a request while the endpoint's circuit breaker is open
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String endpoint, long retryInMs) {
+        super("Circuit breaker for " + endpoint + " is open, calls are rejected for another " + retryInMs + " ms");
+    }
+}
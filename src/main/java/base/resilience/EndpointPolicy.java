@@ -0,0 +1,157 @@
+package base.resilience;
+
+import base.FrameworkConfig;
+import base.http.HttpClientPool;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Timeouts, retries, hedging, circuit breaker and concurrency limit settings of one endpoint.
+ * <p>
+ * Every setting is read as {@code http.<name>.<setting>} first and {@code http.<setting>} second,
+ * where the name is the last path segment that is not an ID, such as
+ * {@code http.analyze-response-uri.readTimeoutMs}; pre-signed storage URLs are named {@code blob}.
+ * <ul>
+ *     <li>{@code connectTimeoutMs}, {@code readTimeoutMs} - socket timeouts, 0 waits forever</li>
+ *     <li>{@code idempotent} - whether a failed call may be sent again (default: GET, PUT, DELETE, HEAD, OPTIONS)</li>
+ *     <li>{@code retry.maxAttempts} - attempts of an idempotent call, the first one included (default 3)</li>
+ *     <li>{@code retry.baseDelayMs}, {@code retry.maxDelayMs} - backoff before attempt n is drawn
+ *     uniformly from 0 to min(max, base * 2^(n-2)) (default 200, 5000)</li>
+ *     <li>{@code hedge.afterMs} - send a second copy of an idempotent call still running after this long, 0 is off (default 0)</li>
+ *     <li>{@code breaker.enabled} - fail fast while the endpoint is unhealthy (default true)</li>
+ *     <li>{@code breaker.windowSize}, {@code breaker.minimumCalls} - the failure rate is taken over the
+ *     last windowSize calls once there are minimumCalls of them (default 20, 10)</li>
+ *     <li>{@code breaker.failureRatePercent} - failure rate that opens the breaker (default 50)</li>
+ *     <li>{@code breaker.openMs} - how long an open breaker rejects calls before letting a trial through (default 30000)</li>
+ *     <li>{@code limit.enabled} - cap calls in flight with an {@link AdaptiveLimiter} (default false)</li>
+ *     <li>{@code limit.initial}, {@code limit.min}, {@code limit.max} - starting value and bounds of the limit (default 20, 1, 200)</li>
+ *     <li>{@code limit.backoffRatio} - factor applied to the limit on an overload signal (default 0.9)</li>
+ *     <li>{@code limit.latencyTolerance} - short-term over long-term latency ratio taken as overload (default 2.0)</li>
+ * </ul>
+ */
+@Getter
+@Builder
+public final class EndpointPolicy {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "PUT", "DELETE", "HEAD", "OPTIONS");
+
+    private final String name;
+    private final boolean idempotent;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long hedgeAfterMs;
+    private final boolean breakerEnabled;
+    private final int breakerWindowSize;
+    private final int breakerMinimumCalls;
+    private final int breakerFailureRatePercent;
+    private final long breakerOpenMs;
+    private final boolean limitEnabled;
+    private final int limitInitial;
+    private final int limitMin;
+    private final int limitMax;
+    private final double limitBackoffRatio;
+    private final double limitLatencyTolerance;
+    /**
+     * RestAssured config whose clients carry this policy's timeouts
+     */
+    private final RestAssuredConfig restAssuredConfig;
+
+    /**
+     * @param method             HTTP method
+     * @param normalizedEndpoint Endpoint as normalized by {@link base.metrics.EndpointMetrics#normalize}
+     */
+    static EndpointPolicy resolve(FrameworkConfig config, String method, String normalizedEndpoint) {
+        String name = nameOf(normalizedEndpoint);
+        Settings settings = new Settings(config, name);
+        int connectTimeoutMs = settings.getInt("connectTimeoutMs", config.getConnectTimeoutMs());
+        int readTimeoutMs = settings.getInt("readTimeoutMs", config.getReadTimeoutMs());
+        return EndpointPolicy.builder()
+                .name(name)
+                .idempotent(settings.getBoolean("idempotent", IDEMPOTENT_METHODS.contains(method)))
+                .connectTimeoutMs(connectTimeoutMs)
+                .readTimeoutMs(readTimeoutMs)
+                .maxAttempts(Math.max(1, settings.getInt("retry.maxAttempts", 3)))
+                .baseDelayMs(settings.getLong("retry.baseDelayMs", 200))
+                .maxDelayMs(settings.getLong("retry.maxDelayMs", 5_000))
+                .hedgeAfterMs(settings.getLong("hedge.afterMs", 0))
+                .breakerEnabled(settings.getBoolean("breaker.enabled", true))
+                .breakerWindowSize(Math.max(1, settings.getInt("breaker.windowSize", 20)))
+                .breakerMinimumCalls(Math.max(1, settings.getInt("breaker.minimumCalls", 10)))
+                .breakerFailureRatePercent(settings.getInt("breaker.failureRatePercent", 50))
+                .breakerOpenMs(settings.getLong("breaker.openMs", 30_000))
+                .limitEnabled(settings.getBoolean("limit.enabled", false))
+                .limitInitial(settings.getInt("limit.initial", 20))
+                .limitMin(settings.getInt("limit.min", 1))
+                .limitMax(settings.getInt("limit.max", 200))
+                .limitBackoffRatio(settings.getDouble("limit.backoffRatio", 0.9))
+                .limitLatencyTolerance(settings.getDouble("limit.latencyTolerance", 2.0))
+                .restAssuredConfig(RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(() -> HttpClientPool.newClient(connectTimeoutMs, readTimeoutMs))))
+                .build();
+    }
+
+    /**
+     * Last path segment that is not an ID placeholder, {@code blob} for storage URLs
+     */
+    static String nameOf(String normalizedEndpoint) {
+        if (normalizedEndpoint.startsWith("<blob>")) {
+            return "blob";
+        }
+        String[] segments = normalizedEndpoint.split("/");
+        for (int index = segments.length - 1; index >= 0; index--) {
+            if (!segments[index].isEmpty() && !segments[index].equals("{id}")) {
+                return segments[index];
+            }
+        }
+        return "root";
+    }
+
+    /**
+     * Endpoint-specific property first, then the global one, then the default
+     */
+    private static final class Settings {
+        private final FrameworkConfig config;
+        private final String name;
+
+        private Settings(FrameworkConfig config, String name) {
+            this.config = config;
+            this.name = name;
+        }
+
+        private String get(String setting) {
+            String value = config.getProperty("http." + name + "." + setting);
+            if (value == null || value.isEmpty()) {
+                value = config.getProperty("http." + setting);
+            }
+            return value == null || value.isEmpty() ? null : value.trim();
+        }
+
+        private int getInt(String setting, int defaultValue) {
+            String value = get(setting);
+            return value == null ? defaultValue : Integer.parseInt(value);
+        }
+
+        private long getLong(String setting, long defaultValue) {
+            String value = get(setting);
+            return value == null ? defaultValue : Long.parseLong(value);
+        }
+
+        private double getDouble(String setting, double defaultValue) {
+            String value = get(setting);
+            return value == null ? defaultValue : Double.parseDouble(value);
+        }
+
+        private boolean getBoolean(String setting, boolean defaultValue) {
+            String value = get(setting);
+            return value == null ? defaultValue : Boolean.parseBoolean(value);
+        }
+    }
+}
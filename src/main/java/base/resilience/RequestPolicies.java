@@ -0,0 +1,293 @@
+package base.resilience;
+
+import base.FrameworkConfig;
+import base.http.HttpClientPool;
+import base.logging.RequestLogFilter;
+import base.metrics.EndpointMetrics;
+import io.qameta.allure.Allure;
+import io.restassured.response.Response;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs HTTP calls under the {@link EndpointPolicy} of their endpoint.
+ * <p>
+ * Each call first asks the endpoint's {@link CircuitBreaker}; an open breaker fails it with
+ * {@link CircuitOpenException} without touching the network. Idempotent calls that fail with an
+ * I/O error (timeouts included) or a 429, 500, 502, 503 or 504 are sent again after a jittered
+ * exponential backoff, and may be hedged: when the first copy is still running after
+ * {@code hedge.afterMs} a second one is sent, the first copy to get an answer that would not be
+ * retried wins and the other is aborted. Other calls are
+ * sent once. Endpoints with {@code limit.enabled} also pass every attempt through an
+ * {@link AdaptiveLimiter}, which makes it wait while the endpoint is at its concurrency limit.
+ * Retries, hedges, rejections, throttled attempts, breaker states and concurrency limits are
+ * counted in {@link EndpointMetrics}.
+ * <p>
+ * Policies, breakers and limiters are created on first use and dropped when {@link FrameworkConfig} reloads.
+ */
+public final class RequestPolicies {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 500, 502, 503, 504);
+    private static final ConcurrentMap<String, EndpointPolicy> POLICIES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, AdaptiveLimiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final AtomicInteger HEDGE_THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService HEDGE_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "http-hedge-" + HEDGE_THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ThreadLocal<HedgeCopy> CURRENT_HEDGE_COPY = new ThreadLocal<>();
+
+    static {
+        FrameworkConfig.addReloadListener(config -> {
+            POLICIES.clear();
+            BREAKERS.clear();
+            LIMITERS.clear();
+        });
+    }
+
+    private RequestPolicies() {
+    }
+
+    public static EndpointPolicy policyFor(String method, String endpoint) {
+        String normalized = EndpointMetrics.normalize(endpoint);
+        return POLICIES.computeIfAbsent(method + " " + normalized,
+                key -> EndpointPolicy.resolve(FrameworkConfig.current(), method, normalized));
+    }
+
+    /**
+     * @param request Sends the request once with the given policy; called again for each retry
+     *                and hedge, possibly from another thread, so it must not rely on thread state
+     * @return The response of the last attempt
+     * @throws CircuitOpenException when the breaker rejects the first attempt
+     */
+    public static Response execute(String method, String endpoint, Function<EndpointPolicy, Response> request) {
+        EndpointPolicy policy = policyFor(method, endpoint);
+        String key = method + " " + EndpointMetrics.normalize(endpoint);
+        CircuitBreaker breaker = policy.isBreakerEnabled()
+                ? BREAKERS.computeIfAbsent(key, name -> new CircuitBreaker(name, policy)) : null;
+        AdaptiveLimiter limiter = policy.isLimitEnabled()
+                ? LIMITERS.computeIfAbsent(key, name -> new AdaptiveLimiter(policy)) : null;
+        Function<EndpointPolicy, Response> attempt = limiter == null ? request
+                : attemptPolicy -> limited(method, endpoint, limiter, attemptPolicy, request);
+        int maxAttempts = policy.isIdempotent() ? policy.getMaxAttempts() : 1;
+        boolean hedge = policy.isIdempotent() && policy.getHedgeAfterMs() > 0;
+
+        Response response = null;
+        RuntimeException failure = null;
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            long permit = breaker == null ? CircuitBreaker.REJECTED : breaker.tryAcquire();
+            if (breaker != null && permit == CircuitBreaker.REJECTED) {
+                if (response != null) {
+                    return response;
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                EndpointMetrics.recordRejected(method, endpoint);
+                throw new CircuitOpenException(key, breaker.getRemainingOpenMs());
+            }
+            response = null;
+            failure = null;
+            boolean failed = true;
+            try {
+                response = hedge ? hedged(method, endpoint, policy, attempt) : attempt.apply(policy);
+                failed = response.statusCode() >= 500;
+            } catch (Exception e) {
+                failure = e instanceof RuntimeException ? (RuntimeException) e
+                        : new RuntimeException(method + " " + endpoint + " failed: " + e.getMessage(), e);
+                failed = isTransient(failure);
+            } finally {
+                if (breaker != null) {
+                    breaker.onResult(permit, failed);
+                    EndpointMetrics.recordBreakerState(method, endpoint, breaker.getState().name());
+                }
+            }
+
+            boolean retryable = failure != null ? isTransient(failure) : RETRYABLE_STATUSES.contains(response.statusCode());
+            if (!retryable || attemptNumber >= maxAttempts) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+            long delayMs = backoffMs(policy, attemptNumber + 1);
+            String outcome = failure != null ? failure.toString() : "status " + response.statusCode();
+            int next = attemptNumber + 1;
+            RequestLogFilter.logLine(() -> "Retrying " + method + " " + endpoint + " (attempt " + next + " of "
+                    + maxAttempts + ") in " + delayMs + " ms after " + outcome);
+            EndpointMetrics.recordRetry(method, endpoint);
+            sleep(delayMs);
+        }
+    }
+
+    /**
+     * Holds one of the endpoint's concurrency slots for the duration of the request and feeds
+     * its latency and outcome back to the limiter
+     */
+    private static Response limited(String method, String endpoint, AdaptiveLimiter limiter, EndpointPolicy policy,
+                                    Function<EndpointPolicy, Response> request) {
+        if (limiter.acquire()) {
+            EndpointMetrics.recordThrottled(method, endpoint);
+        }
+        long start = System.nanoTime();
+        Boolean overloaded = null;
+        try {
+            Response response = request.apply(policy);
+            overloaded = response.statusCode() == 429 || response.statusCode() == 503;
+            return response;
+        } catch (Exception e) {
+            HedgeCopy copy = CURRENT_HEDGE_COPY.get();
+            // a hedge copy aborted because the other one won says nothing about the endpoint's load
+            overloaded = isTransient(e) && (copy == null || !copy.isAborted()) ? Boolean.TRUE : null;
+            throw e;
+        } finally {
+            limiter.release(System.nanoTime() - start, overloaded);
+            EndpointMetrics.recordConcurrencyLimit(method, endpoint, limiter.getLimit());
+        }
+    }
+
+    /**
+     * Full jitter: uniform between 0 and the capped exponential delay, so retries of many
+     * threads hitting the same failure spread out instead of arriving together
+     */
+    static long backoffMs(EndpointPolicy policy, int attemptNumber) {
+        int shift = Math.min(attemptNumber - 2, 30);
+        long ceiling = Math.min(policy.getMaxDelayMs(), policy.getBaseDelayMs() << shift);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Timeouts, refused and reset connections; anything with an {@link IOException} in its causes
+     */
+    static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Response hedged(String method, String endpoint, EndpointPolicy policy,
+                                   Function<EndpointPolicy, Response> attempt) throws Exception {
+        String testCase = Allure.getLifecycle().getCurrentTestCase().orElse(null);
+        HedgeCopy firstCopy = new HedgeCopy();
+        CompletableFuture<Response> first = CompletableFuture.supplyAsync(
+                () -> send(testCase, policy, attempt, firstCopy), HEDGE_EXECUTOR);
+        try {
+            return first.get(policy.getHedgeAfterMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // still running, race a second copy against it
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+
+        EndpointMetrics.recordHedge(method, endpoint);
+        HedgeCopy secondCopy = new HedgeCopy();
+        CompletableFuture<Response> second = CompletableFuture.supplyAsync(
+                () -> send(testCase, policy, attempt, secondCopy), HEDGE_EXECUTOR);
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        for (CompletableFuture<Response> copy : List.of(first, second)) {
+            copy.whenComplete((response, error) -> {
+                if (error == null && !RETRYABLE_STATUSES.contains(response.statusCode())) {
+                    winner.complete(response);
+                } else if (pending.decrementAndGet() == 0) {
+                    // neither copy got a usable answer, the last outcome goes to the retry loop
+                    if (error == null) {
+                        winner.complete(response);
+                    } else {
+                        winner.completeExceptionally(error);
+                    }
+                }
+            });
+        }
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            // free the loser's connection and limiter slot instead of waiting for its answer
+            if (!first.isDone()) {
+                firstCopy.abort();
+            }
+            if (!second.isDone()) {
+                secondCopy.abort();
+            }
+        }
+    }
+
+    private static Response send(String testCase, EndpointPolicy policy, Function<EndpointPolicy, Response> attempt,
+                                 HedgeCopy copy) {
+        if (testCase != null) {
+            // report the call under the test that made it
+            Allure.getLifecycle().setCurrentTestCase(testCase);
+        }
+        CURRENT_HEDGE_COPY.set(copy);
+        try {
+            return HttpClientPool.reportingSentRequests(copy::sent, () -> attempt.apply(policy));
+        } finally {
+            CURRENT_HEDGE_COPY.remove();
+        }
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return (Exception) cause;
+    }
+
+    /**
+     * One copy of a hedged call; the request it sends can be aborted from the thread that picked the winner
+     */
+    private static final class HedgeCopy {
+        private HttpUriRequest request;
+        private boolean aborted;
+
+        synchronized void sent(HttpUriRequest sentRequest) {
+            request = sentRequest;
+            if (aborted) {
+                sentRequest.abort();
+            }
+        }
+
+        synchronized void abort() {
+            aborted = true;
+            if (request != null) {
+                request.abort();
+            }
+        }
+
+        synchronized boolean isAborted() {
+            return aborted;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -4,5 +4,8 @@ public class FilePaths {
 
     public static final String SCHEMA_FILE_FOR_VIDEO_AUDIO_MCQ = "src/test/resources/schemaFiles/video_aduio_mcq_Schema_Files.json";
     public static final String SCHEMA_FILE_FOR_SUBJECTIVE_PROGRAMMING = "src/test/resources/schemaFiles/subjectiveAndProgrammingSchemaFile.json";
+    public static final String ENV_CONFIG_FILE = "src/main/resources/config/envConfig.properties";
+    public static final String FRAMEWORK_CONFIG_FILE = "src/main/resources/config/frameworkConfig.properties";
+    public static final String USER_CONFIG_FILE = "src/main/resources/config/userConfig.properties";
 
 }
@@ -0,0 +1,83 @@
+package entity.common;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Session IDs and timestamps for the analysis objects, cheap enough to make one per answer.
+ * <p>
+ * The random part of an ID comes from {@link ThreadLocalRandom}, so threads never contend on the
+ * {@code SecureRandom} behind {@code UUID.randomUUID()}; the IDs only need to be unique within a
+ * candidate's screening, not unguessable. Timestamps are ISO-8601 UTC with milliseconds, like
+ * JavaScript's {@code toISOString()}; the formatted value is cached and reused until the clock
+ * moves to the next millisecond.
+ */
+public final class AnalysisIds {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final DateTimeFormatter SECONDS_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.").withZone(ZoneOffset.UTC);
+
+    private static volatile FormattedTime lastTimestamp = new FormattedTime(Long.MIN_VALUE, Long.MIN_VALUE, "", "");
+
+    private AnalysisIds() {
+    }
+
+    /**
+     * {@code <prefix>_<epoch millis>_<8 hex digits>}, the format the frontend sends
+     */
+    public static String sessionId(String prefix) {
+        long millis = System.currentTimeMillis();
+        int random = ThreadLocalRandom.current().nextInt();
+        StringBuilder id = new StringBuilder(prefix.length() + 23);
+        id.append(prefix).append('_').append(millis).append('_');
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            id.append(HEX_DIGITS[(random >>> shift) & 0xF]);
+        }
+        return id.toString();
+    }
+
+    /**
+     * Current time such as {@code 2025-12-01T09:30:15.042Z}
+     */
+    public static String timestamp() {
+        return timestamp(System.currentTimeMillis());
+    }
+
+    static String timestamp(long epochMillis) {
+        FormattedTime last = lastTimestamp;
+        if (last.epochMillis == epochMillis) {
+            return last.text;
+        }
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        String secondsText = last.epochSecond == epochSecond
+                ? last.secondsText : SECONDS_FORMAT.format(Instant.ofEpochSecond(epochSecond));
+        int millis = Math.floorMod(epochMillis, 1000);
+        String text = new StringBuilder(secondsText.length() + 4)
+                .append(secondsText)
+                .append((char) ('0' + millis / 100))
+                .append((char) ('0' + millis / 10 % 10))
+                .append((char) ('0' + millis % 10))
+                .append('Z')
+                .toString();
+        // racing threads store equal values, so whichever write wins is correct
+        lastTimestamp = new FormattedTime(epochMillis, epochSecond, secondsText, text);
+        return text;
+    }
+
+    private static final class FormattedTime {
+        private final long epochMillis;
+        private final long epochSecond;
+        private final String secondsText;
+        private final String text;
+
+        private FormattedTime(long epochMillis, long epochSecond, String secondsText, String text) {
+            this.epochMillis = epochMillis;
+            this.epochSecond = epochSecond;
+            this.secondsText = secondsText;
+            this.text = text;
+        }
+    }
+}
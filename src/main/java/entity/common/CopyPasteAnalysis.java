@@ -5,13 +5,10 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.time.Instant;
-import java.util.UUID;
-
 /**
  * Shared POJO for copy-paste analysis across all answer types (MCQ, Audio, Video)
  */
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @Setter
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -51,12 +48,12 @@ public class CopyPasteAnalysis {
                 .copyBreakdown(CopyBreakdown.createDefault())
                 .sessionId(generateSessionId())
                 .analysisVersion("2.0-mcq-focused")
-                .timestamp(Instant.now().toString())
+                .timestamp(AnalysisIds.timestamp())
                 .build();
     }
 
-    private static String generateSessionId() {
-        return "copypaste_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+    public static String generateSessionId() {
+        return AnalysisIds.sessionId("copypaste");
     }
 }
 
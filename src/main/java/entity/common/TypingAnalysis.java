@@ -5,9 +5,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.time.Instant;
-import java.util.UUID;
-
 /**
  * Shared POJO for typing analysis in text-based answers (Subjective, Programming)
  */
@@ -58,7 +55,7 @@ public class TypingAnalysis {
                 .riskScore(0)
                 .sessionId(generateSessionId())
                 .analysisVersion("2.0-enhanced")
-                .timestamp(Instant.now().toString())
+                .timestamp(AnalysisIds.timestamp())
                 .privacyCompliant(true)
                 .riskLevel("low")
                 .build();
@@ -78,7 +75,7 @@ public class TypingAnalysis {
     }
 
     private static String generateSessionId() {
-        return "typing_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        return AnalysisIds.sessionId("typing");
     }
 }
 
@@ -0,0 +1,34 @@
+package entity.screeningPOJO;
+
+/**
+ * Question sections of the get-screening-questions response, by their JSON key
+ */
+public enum QuestionType {
+    MCQ("mcq"),
+    AUDIO("audio"),
+    VIDEO("video"),
+    SUBJECTIVE("subjective"),
+    PROGRAMMING("programming");
+
+    private final String key;
+
+    QuestionType(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The type for the section key, or null for sections this framework does not answer
+     */
+    public static QuestionType fromKey(String key) {
+        for (QuestionType type : values()) {
+            if (type.key.equals(key)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
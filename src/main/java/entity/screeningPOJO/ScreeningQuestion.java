@@ -0,0 +1,15 @@
+package entity.screeningPOJO;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * One question of a screening test, as listed by get-screening-questions
+ */
+@Builder
+@Getter
+public class ScreeningQuestion {
+    private final String id;
+    private final QuestionType type;
+    private final String question;
+}
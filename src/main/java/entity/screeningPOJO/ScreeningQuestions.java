@@ -0,0 +1,127 @@
+package entity.screeningPOJO;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The questions of a screening test, indexed by type and by ID.
+ * <p>
+ * Parsed in one streaming pass over the get-screening-questions body: only {@code _id} and
+ * {@code question} are read, everything else (options, test cases, ...) is skipped without
+ * building a tree. Lookups afterwards are map reads, unlike GPath {@code find { }} expressions,
+ * which parse and evaluate the whole body on every call.
+ * <p>
+ * The body is an array of sections such as {@code {"mcq": [...]}}; questions of every section
+ * of a type are kept in document order, and sections of unknown types are skipped.
+ */
+public final class ScreeningQuestions {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Map<QuestionType, List<ScreeningQuestion>> byType;
+    private final Map<String, ScreeningQuestion> byId;
+
+    private ScreeningQuestions(Map<QuestionType, List<ScreeningQuestion>> byType, Map<String, ScreeningQuestion> byId) {
+        this.byType = byType;
+        this.byId = byId;
+    }
+
+    public static ScreeningQuestions from(Response response) {
+        return parse(response.asByteArray());
+    }
+
+    /**
+     * @throws IllegalArgumentException when the body is not a list of question sections
+     */
+    public static ScreeningQuestions parse(byte[] body) {
+        Map<QuestionType, List<ScreeningQuestion>> byType = new EnumMap<>(QuestionType.class);
+        Map<String, ScreeningQuestion> byId = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a list of question sections, got " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    QuestionType type = QuestionType.fromKey(parser.getCurrentName());
+                    if (parser.nextToken() != JsonToken.START_ARRAY || type == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    List<ScreeningQuestion> questions = byType.computeIfAbsent(type, t -> new ArrayList<>());
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        ScreeningQuestion question = readQuestion(parser, type);
+                        questions.add(question);
+                        if (question.getId() != null) {
+                            byId.putIfAbsent(question.getId(), question);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to parse screening questions: " + e.getMessage(), e);
+        }
+        byType.replaceAll((type, questions) -> Collections.unmodifiableList(questions));
+        return new ScreeningQuestions(byType, byId);
+    }
+
+    private static ScreeningQuestion readQuestion(JsonParser parser, QuestionType type) throws IOException {
+        ScreeningQuestion.ScreeningQuestionBuilder question = ScreeningQuestion.builder().type(type);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("_id".equals(field) && value == JsonToken.VALUE_STRING) {
+                question.id(parser.getText());
+            } else if ("question".equals(field) && value == JsonToken.VALUE_STRING) {
+                question.question(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return question.build();
+    }
+
+    /**
+     * Questions of the type in document order, empty when the screening has none
+     */
+    public List<ScreeningQuestion> getQuestions(QuestionType type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    public List<String> getIds(QuestionType type) {
+        List<ScreeningQuestion> questions = getQuestions(type);
+        List<String> ids = new ArrayList<>(questions.size());
+        for (ScreeningQuestion question : questions) {
+            ids.add(question.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * ID of the first question of the type, or null when there is none
+     */
+    public String getFirstId(QuestionType type) {
+        List<ScreeningQuestion> questions = getQuestions(type);
+        return questions.isEmpty() ? null : questions.get(0).getId();
+    }
+
+    /**
+     * @return The question with the ID, or null
+     */
+    public ScreeningQuestion get(String id) {
+        return byId.get(id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+}
@@ -0,0 +1,198 @@
+package loadgen;
+
+import base.metrics.EndpointMetrics;
+import base.metrics.EndpointStats;
+import loadgen.data.CandidateGenerator;
+import loadgen.data.DataProfile;
+import loadgen.data.SyntheticCandidate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Replays the candidate screening flow for many synthetic candidates.
+ * <p>
+ * Latency is collected per endpoint by {@link EndpointMetrics}; the statistics are reset
+ * when ramp-up ends and copied when the steady state ends, so the report reflects steady
+ * state only. Screenings still running then are drained and counted separately. Run it with
+ * {@code -Denvironment=stub} to drive the embedded stub server instead of a shared backend.
+ * <p>
+ * Candidates run on the profile's {@link ThreadMode}; the report includes the peak number
+ * of platform threads so platform and virtual runs can be compared side by side.
+ */
+public class LoadDriver {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 300;
+    private static final int MAX_FAILURE_SAMPLES = 10;
+
+    private final LoadProfile profile;
+    private final ScreeningFlow flow;
+    private final Supplier<SyntheticCandidate> candidates;
+
+    private final AtomicInteger issued = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final List<String> failureSamples = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Candidates come from a {@link CandidateGenerator} configured by the {@code data.*} properties
+     */
+    public LoadDriver(LoadProfile profile) {
+        this(profile, new ScreeningFlow(profile), newGenerator()::next);
+    }
+
+    public LoadDriver(LoadProfile profile, ScreeningFlow flow, Supplier<SyntheticCandidate> candidates) {
+        this.profile = profile;
+        this.flow = flow;
+        this.candidates = candidates;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        // one thread per candidate in flight, so no screening waits in the pool's queue
+        ExecutorService workers = profile.getThreadMode().newExecutor("load-candidate-",
+                profile.getModel() == LoadProfile.LoadModel.CLOSED ? profile.getConcurrency() : profile.getMaxInFlight());
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long startNanos = System.nanoTime();
+        long rampUpEndNanos = startNanos + profile.getRampUp().toNanos();
+        long deadlineNanos = startNanos + profile.getDuration().toNanos();
+
+        EndpointMetrics.reset();
+        long measureStartNanos = profile.getRampUp().isZero() ? startNanos : -1;
+        long completedAtMeasureStart = 0;
+        Semaphore inFlight = new Semaphore(profile.getMaxInFlight());
+        int closedWorkersStarted = 0;
+        long nextArrivalNanos = startNanos;
+
+        while (System.nanoTime() < deadlineNanos && !candidatesExhausted()) {
+            long now = System.nanoTime();
+            if (measureStartNanos < 0 && now >= rampUpEndNanos) {
+                EndpointMetrics.reset();
+                measureStartNanos = now;
+                completedAtMeasureStart = completed.get();
+            }
+            if (profile.getModel() == LoadProfile.LoadModel.OPEN) {
+                if (now >= nextArrivalNanos && tryIssue()) {
+                    if (inFlight.tryAcquire()) {
+                        workers.execute(() -> {
+                            try {
+                                runOneScreening();
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    } else {
+                        dropped.incrementAndGet();
+                    }
+                    nextArrivalNanos = now + nextInterArrivalNanos(now - startNanos);
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.max(0, Math.min(nextArrivalNanos, deadlineNanos) - System.nanoTime()));
+            } else {
+                int due = closedWorkersDue(now - startNanos);
+                for (; closedWorkersStarted < due; closedWorkersStarted++) {
+                    workers.execute(() -> {
+                        while (System.nanoTime() < deadlineNanos && tryIssue()) {
+                            runOneScreening();
+                        }
+                    });
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+
+        long measureEndNanos = System.nanoTime();
+        long completedAtMeasureEnd = completed.get();
+        Map<String, EndpointStats> steadyStateEndpoints = EndpointMetrics.frozenSnapshot();
+        if (measureStartNanos < 0) {
+            measureStartNanos = startNanos;
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        workers.shutdownNow();
+        long drainNanos = System.nanoTime() - measureEndNanos;
+
+        return LoadReport.builder()
+                .profile(profile)
+                .threadMode(profile.getThreadMode().effective())
+                .peakPlatformThreads(threads.getPeakThreadCount())
+                .started(issued.get() - dropped.get())
+                .completed(completed.get())
+                .failed(failed.get())
+                .dropped(dropped.get())
+                .measuredSeconds((measureEndNanos - measureStartNanos) / 1e9)
+                .measuredCompleted(completedAtMeasureEnd - completedAtMeasureStart)
+                .drainSeconds(drainNanos / 1e9)
+                .drainCompleted(completed.get() - completedAtMeasureEnd)
+                .endpoints(steadyStateEndpoints)
+                .failureSamples(new ArrayList<>(failureSamples))
+                .build();
+    }
+
+    /**
+     * Claims one candidate from the budget; false once maxCandidates have been issued
+     */
+    private boolean tryIssue() {
+        int limit = profile.getMaxCandidates();
+        if (limit <= 0) {
+            issued.incrementAndGet();
+            return true;
+        }
+        return issued.getAndUpdate(count -> count < limit ? count + 1 : count) < limit;
+    }
+
+    private void runOneScreening() {
+        try {
+            flow.run(candidates.get());
+            completed.incrementAndGet();
+        } catch (RuntimeException | AssertionError e) {
+            failed.incrementAndGet();
+            if (failureSamples.size() < MAX_FAILURE_SAMPLES) {
+                failureSamples.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean candidatesExhausted() {
+        return profile.getMaxCandidates() > 0 && issued.get() >= profile.getMaxCandidates();
+    }
+
+    /**
+     * Poisson arrivals whose rate climbs linearly to the target during ramp-up
+     */
+    private long nextInterArrivalNanos(long elapsedNanos) {
+        double rate = profile.getArrivalRatePerSecond();
+        long rampUpNanos = profile.getRampUp().toNanos();
+        if (elapsedNanos < rampUpNanos) {
+            rate = Math.max(rate * elapsedNanos / rampUpNanos, rate * 0.05);
+        }
+        double uniform = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return (long) (-Math.log(uniform) / rate * 1e9);
+    }
+
+    private int closedWorkersDue(long elapsedNanos) {
+        long rampUpNanos = profile.getRampUp().toNanos();
+        if (rampUpNanos == 0 || elapsedNanos >= rampUpNanos) {
+            return profile.getConcurrency();
+        }
+        return (int) Math.max(1, profile.getConcurrency() * elapsedNanos / rampUpNanos);
+    }
+
+    private static CandidateGenerator newGenerator() {
+        DataProfile data = DataProfile.fromSystemProperties();
+        System.out.println("Generating candidates with data.seed=" + data.getSeed());
+        return new CandidateGenerator(data);
+    }
+}
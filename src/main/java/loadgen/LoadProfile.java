@@ -0,0 +1,85 @@
+package loadgen;
+
+import base.ApplicationConfig;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run: how candidates arrive and for how long.
+ * <p>
+ * {@link LoadModel#OPEN} starts new screenings at {@code arrivalRatePerSecond} regardless of
+ * how many are still running (capped by {@code maxInFlight}); {@link LoadModel#CLOSED} keeps
+ * {@code concurrency} virtual candidates busy back to back. Both ramp up linearly over
+ * {@code rampUp} and then hold for {@code steadyState}.
+ * <p>
+ * {@code threadMode} picks platform or virtual threads for the candidates; with
+ * {@code parallelAnswers} the answers of one screening are pipelined (see {@code ScreeningPipeline}).
+ */
+@Builder(toBuilder = true)
+@Getter
+public class LoadProfile {
+
+    public enum LoadModel {
+        OPEN, CLOSED
+    }
+
+    @Builder.Default
+    private final LoadModel model = LoadModel.CLOSED;
+    @Builder.Default
+    private final double arrivalRatePerSecond = 5;
+    @Builder.Default
+    private final int concurrency = 10;
+    @Builder.Default
+    private final int maxInFlight = 1000;
+    @Builder.Default
+    private final Duration rampUp = Duration.ofSeconds(10);
+    @Builder.Default
+    private final Duration steadyState = Duration.ofSeconds(60);
+    /**
+     * Stop after this many screenings even if time remains; 0 means no limit
+     */
+    @Builder.Default
+    private final int maxCandidates = 0;
+    @Builder.Default
+    private final ThreadMode threadMode = ThreadMode.PLATFORM;
+    @Builder.Default
+    private final boolean parallelAnswers = false;
+    @Builder.Default
+    private final String screenTestId = "692d3aeb3d9838750c2d650a";
+    @Builder.Default
+    private final String experience = "4.0";
+    @Builder.Default
+    private final String audioFilePath = "files/AudioAnswer.mp3";
+    @Builder.Default
+    private final String videoFilePath = "files/VideoAnswer.mp4";
+
+    public Duration getDuration() {
+        return rampUp.plus(steadyState);
+    }
+
+    /**
+     * Reads {@code load.*} properties, keeping the defaults above for anything unset
+     */
+    public static LoadProfile fromSystemProperties() {
+        LoadProfile defaults = LoadProfile.builder().build();
+        return LoadProfile.builder()
+                .model(LoadModel.valueOf(ApplicationConfig.getProperty("load.model", defaults.model.name()).toUpperCase()))
+                .arrivalRatePerSecond(ApplicationConfig.getDoubleProperty("load.arrivalRate", defaults.arrivalRatePerSecond))
+                .concurrency(ApplicationConfig.getIntProperty("load.concurrency", defaults.concurrency))
+                .maxInFlight(ApplicationConfig.getIntProperty("load.maxInFlight", defaults.maxInFlight))
+                .rampUp(Duration.ofSeconds(ApplicationConfig.getLongProperty("load.rampUpSeconds",
+                        defaults.rampUp.getSeconds())))
+                .steadyState(Duration.ofSeconds(ApplicationConfig.getLongProperty("load.steadyStateSeconds",
+                        defaults.steadyState.getSeconds())))
+                .maxCandidates(ApplicationConfig.getIntProperty("load.maxCandidates", defaults.maxCandidates))
+                .threadMode(ThreadMode.valueOf(ApplicationConfig.getProperty("load.threadMode", defaults.threadMode.name()).toUpperCase()))
+                .parallelAnswers(ApplicationConfig.getBooleanProperty("load.parallelAnswers", defaults.parallelAnswers))
+                .screenTestId(ApplicationConfig.getProperty("load.screenTestId", defaults.screenTestId))
+                .experience(ApplicationConfig.getProperty("load.experience", defaults.experience))
+                .audioFilePath(ApplicationConfig.getProperty("load.audioFile", defaults.audioFilePath))
+                .videoFilePath(ApplicationConfig.getProperty("load.videoFile", defaults.videoFilePath))
+                .build();
+    }
+}
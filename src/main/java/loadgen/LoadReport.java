@@ -0,0 +1,69 @@
+package loadgen;
+
+import base.metrics.EndpointStats;
+import base.metrics.Histogram;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link LoadDriver} run. Rates and percentiles cover the steady-state window only;
+ * screenings that finished while the driver drained after it are reported on their own.
+ */
+@Builder
+@Getter
+public class LoadReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadProfile profile;
+    private final ThreadMode threadMode;
+    private final int peakPlatformThreads;
+    private final long started;
+    private final long completed;
+    private final long failed;
+    private final long dropped;
+    private final double measuredSeconds;
+    private final long measuredCompleted;
+    private final double drainSeconds;
+    private final long drainCompleted;
+    private final Map<String, EndpointStats> endpoints;
+    private final List<String> failureSamples;
+
+    public double getScreeningsPerSecond() {
+        return measuredSeconds <= 0 ? 0 : measuredCompleted / measuredSeconds;
+    }
+
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        String shape = profile.getModel() == LoadProfile.LoadModel.OPEN
+                ? String.format("OPEN %.2f arrivals/s", profile.getArrivalRatePerSecond())
+                : "CLOSED " + profile.getConcurrency() + " concurrent candidates";
+        report.append(String.format("Load run: %s, ramp-up %ds, steady state %ds, %s threads%s (peak %d platform threads)%n",
+                shape, profile.getRampUp().getSeconds(), profile.getSteadyState().getSeconds(), threadMode,
+                profile.isParallelAnswers() ? ", parallel answers" : "", peakPlatformThreads));
+        report.append(String.format("Screenings: started=%d completed=%d failed=%d dropped=%d, steady state %.2f screenings/s over %.1fs, "
+                        + "%d more completed while draining for %.1fs%n",
+                started, completed, failed, dropped, getScreeningsPerSecond(), measuredSeconds, drainCompleted, drainSeconds));
+        report.append(String.format("%-72s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        endpoints.forEach((endpoint, stats) -> {
+            Histogram latency = stats.getLatency();
+            report.append(String.format("%-72s %8d %7d %9.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n", endpoint,
+                    latency.getCount(), stats.getErrorCount(),
+                    measuredSeconds <= 0 ? 0 : latency.getCount() / measuredSeconds,
+                    latency.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    latency.getMax() / NANOS_PER_MILLI));
+        });
+        if (!failureSamples.isEmpty()) {
+            report.append("Sample failures:").append(System.lineSeparator());
+            failureSamples.forEach(failure -> report.append("  ").append(failure).append(System.lineSeparator()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package loadgen;
+
+import base.ScreeningSession;
+import constants.StatusCodes;
+import entity.screeningPOJO.QuestionType;
+import entity.screeningPOJO.ScreeningQuestions;
+import io.restassured.response.Response;
+import loadgen.data.SyntheticCandidate;
+import services.AnswerSheet;
+import services.AudioService;
+import services.MCQService;
+import services.ProgrammingService;
+import services.ScreeningDetailsServices;
+import services.ScreeningPipeline;
+import services.SubjectiveService;
+import services.VideoServices;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * One candidate's screening, in the same order as {@code CandidateScreeningTest}:
+ * fetch questions, then answer audio, subjective, video and every MCQ, plus the programming
+ * question when the candidate has a programming answer. Answers and their typing and copy-paste
+ * metrics come from the {@link SyntheticCandidate}.
+ * <p>
+ * When the profile asks for parallel answers, the answers go through a {@link ScreeningPipeline}
+ * on threads of the profile's {@link ThreadMode}: upload URLs are fetched up front and media
+ * uploads overlap the other answers.
+ */
+public class ScreeningFlow {
+
+    private final LoadProfile profile;
+    private final ExecutorService answerExecutor;
+
+    public ScreeningFlow(LoadProfile profile) {
+        this.profile = profile;
+        this.answerExecutor = profile.isParallelAnswers() ? profile.getThreadMode().newExecutor("load-answer-") : null;
+    }
+
+    /**
+     * Runs the full flow for one candidate
+     *
+     * @throws IllegalStateException when any answer is not accepted
+     */
+    public void run(SyntheticCandidate candidate) {
+        ScreeningSession session = candidate.getSession();
+        Response screeningDetails = new ScreeningDetailsServices(session).getScreeningDetails(profile.getScreenTestId());
+        expectOk(screeningDetails, "get screening questions");
+        ScreeningQuestions questions = ScreeningQuestions.from(screeningDetails);
+        AnswerSheet.AnswerSheetBuilder builder = AnswerSheet.builder()
+                .experience(profile.getExperience())
+                .audioQuestionId(questions.getFirstId(QuestionType.AUDIO))
+                .audioFilePath(profile.getAudioFilePath())
+                .videoQuestionId(questions.getFirstId(QuestionType.VIDEO))
+                .videoFilePath(profile.getVideoFilePath())
+                .subjectiveQuestionId(questions.getFirstId(QuestionType.SUBJECTIVE))
+                .subjectiveAnswer(candidate.getSubjectiveAnswer())
+                .subjectiveTypingAnalysis(candidate.getSubjectiveTypingAnalysis())
+                .mcqCopyPasteAnalysis(candidate.getMcqCopyPasteAnalysis());
+        List<String> mcqQuestionIds = questions.getIds(QuestionType.MCQ);
+        for (int position = 0; position < mcqQuestionIds.size(); position++) {
+            builder.mcqQuestionId(mcqQuestionIds.get(position))
+                    .mcqAnswerById(mcqQuestionIds.get(position), candidate.mcqAnswer(position));
+        }
+        if (candidate.getProgrammingAnswer() != null) {
+            builder.programmingQuestionId(questions.getFirstId(QuestionType.PROGRAMMING))
+                    .programmingAnswer(candidate.getProgrammingAnswer())
+                    .programmingTypingAnalysis(candidate.getProgrammingTypingAnalysis())
+                    .screeningTestId(profile.getScreenTestId());
+        }
+        AnswerSheet sheet = builder.build();
+
+        Map<String, Response> responses = answerExecutor == null
+                ? submitSequentially(session, sheet)
+                : submitPipelined(session, sheet);
+        responses.forEach((questionId, response) -> expectOk(response, "answer to question " + questionId));
+    }
+
+    private Map<String, Response> submitSequentially(ScreeningSession session, AnswerSheet sheet) {
+        String experience = sheet.getExperience();
+        Map<String, Response> responses = new LinkedHashMap<>();
+        responses.put(sheet.getAudioQuestionId(), new AudioService(session)
+                .submitAudioAnswer(sheet.getAudioQuestionId(), experience, sheet.getAudioFilePath()));
+        responses.put(sheet.getSubjectiveQuestionId(), new SubjectiveService(session).submitSubjectiveAnswer(
+                sheet.getSubjectiveQuestionId(), experience, sheet.getSubjectiveAnswer(), sheet.getSubjectiveTypingAnalysis()));
+        if (sheet.getProgrammingQuestionId() != null) {
+            responses.put(sheet.getProgrammingQuestionId(), new ProgrammingService(session).submitProgrammingAnswer(
+                    sheet.getProgrammingQuestionId(), experience, sheet.getScreeningTestId(), sheet.getProgrammingAnswer(),
+                    sheet.getProgrammingTypingAnalysis()));
+        }
+        responses.put(sheet.getVideoQuestionId(), new VideoServices(session)
+                .submitVideoAnswer(sheet.getVideoQuestionId(), experience, sheet.getVideoFilePath()));
+        responses.putAll(new MCQService(session).submitMCQAnswers(sheet.mcqAnswers(), experience,
+                sheet.getMcqCopyPasteAnalysis()));
+        return responses;
+    }
+
+    private Map<String, Response> submitPipelined(ScreeningSession session, AnswerSheet sheet) {
+        try {
+            return new ScreeningPipeline(session, answerExecutor).submit(sheet).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static void expectOk(Response response, String step) {
+        if (response.statusCode() != StatusCodes.STATUS_CODE_OK) {
+            throw new IllegalStateException(step + " returned HTTP " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package loadgen;
+
+import base.ApplicationConfig;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Kind of thread each simulated candidate (and each answer inside it) runs on.
+ * <p>
+ * {@link #VIRTUAL} needs a Java 21+ runtime. Built with the {@code java21} profile,
+ * {@code VirtualThreads} creates them through {@code Thread.ofVirtual()} directly; a Java 17 build
+ * looks {@code Thread.ofVirtual()} up reflectively instead. On an older runtime the mode falls back
+ * to platform threads and says so the first time it is used.
+ * <p>
+ * {@link #PLATFORM} executors are bounded pools; virtual threads are cheap enough for one per task.
+ */
+public enum ThreadMode {
+    PLATFORM,
+    VIRTUAL;
+
+    private static final int DEFAULT_MAX_PLATFORM_THREADS = 256;
+    private static final long PLATFORM_IDLE_SECONDS = 30;
+    private static final Function<String, ThreadFactory> VIRTUAL_THREADS = lookUpVirtualThreads();
+    private static final AtomicBoolean FALLBACK_REPORTED = new AtomicBoolean();
+
+    /**
+     * Same as {@link #newExecutor(String, int)} with at most {@code threads.platform.max} (default 256)
+     * platform threads
+     */
+    public ExecutorService newExecutor(String namePrefix) {
+        return newExecutor(namePrefix, ApplicationConfig.getIntProperty("threads.platform.max", DEFAULT_MAX_PLATFORM_THREADS));
+    }
+
+    /**
+     * Executor for this mode: a new virtual thread per task, or a pool of up to maxPlatformThreads
+     * platform threads that queues further tasks; idle pool threads exit after a while
+     *
+     * @param namePrefix Thread name prefix, a counter is appended
+     */
+    public ExecutorService newExecutor(String namePrefix, int maxPlatformThreads) {
+        if (effective() == VIRTUAL) {
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS,
+                    new SynchronousQueue<>(), VIRTUAL_THREADS.apply(namePrefix));
+        }
+        if (this == VIRTUAL && FALLBACK_REPORTED.compareAndSet(false, true)) {
+            System.out.println("Virtual threads are not available on Java " + Runtime.version().feature()
+                    + ", VIRTUAL mode will use platform threads");
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxPlatformThreads, maxPlatformThreads,
+                PLATFORM_IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), platformThreads(namePrefix));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * The mode that will actually be used on this runtime
+     */
+    public ThreadMode effective() {
+        return this == VIRTUAL && VIRTUAL_THREADS == null ? PLATFORM : this;
+    }
+
+    public static boolean isVirtualSupported() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    private static ThreadFactory platformThreads(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * {@code VirtualThreads} when the java21 profile compiled it, otherwise
+     * {@code Thread.ofVirtual().name(prefix, 1).factory()} resolved through the public
+     * {@code Thread.Builder} interface; null when the runtime has no virtual threads
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<String, ThreadFactory> lookUpVirtualThreads() {
+        try {
+            return (Function<String, ThreadFactory>) Class.forName("loadgen.VirtualThreads")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Java 17 build
+        }
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Method name = builderType.getMethod("name", String.class, long.class);
+            Method factory = builderType.getMethod("factory");
+            return namePrefix -> {
+                try {
+                    Object builder = name.invoke(ofVirtual.invoke(null), namePrefix, 1L);
+                    return (ThreadFactory) factory.invoke(builder);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Failed to create virtual thread factory: " + e.getMessage(), e);
+                }
+            };
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
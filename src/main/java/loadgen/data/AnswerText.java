@@ -0,0 +1,83 @@
+package loadgen.data;
+
+import java.util.SplittableRandom;
+
+/**
+ * Filler text for subjective and programming answers, built from small phrase banks so that
+ * answers vary in size and wording without storing any of them
+ */
+final class AnswerText {
+
+    private static final String[] WORDS = {
+            "API", "tests", "run", "faster", "than", "UI", "tests", "and", "catch", "regressions", "earlier",
+            "because", "they", "skip", "the", "browser", "layer", "contract", "checks", "validate", "status",
+            "codes", "headers", "payloads", "schemas", "are", "stable", "across", "releases", "flakiness",
+            "is", "lower", "since", "no", "rendering", "or", "timing", "issues", "cost", "per", "defect",
+            "drops", "when", "bugs", "surface", "in", "CI", "mocks", "isolate", "services", "data", "setup",
+            "through", "endpoints", "keeps", "suites", "independent", "security", "tokens", "authorization",
+            "boundaries", "can", "be", "tested", "directly", "performance", "baselines", "come", "for", "free"
+    };
+    private static final String[] CODE_LINES = {
+            "int count = scanner.nextInt();",
+            "List<Patient> result = new ArrayList<>();",
+            "for (Patient patient : patients) {",
+            "if (patient.getAge() > minAge) {",
+            "result.add(patient);",
+            "}",
+            "result.sort(Comparator.comparingInt(Patient::getAge));",
+            "Map<String, Integer> ages = new HashMap<>();",
+            "ages.put(patient.getName(), patient.getAge());",
+            "String name = scanner.next();",
+            "StringBuilder output = new StringBuilder();",
+            "output.append(patient.getName()).append('\\n');",
+            "System.out.print(output);",
+            "// names of patients older than the minimum age",
+            "patients.removeIf(p -> p.getAge() <= minAge);",
+            "int total = 0;",
+            "total += patient.getAge();"
+    };
+
+    private AnswerText() {
+    }
+
+    /**
+     * HTML paragraphs of roughly {@code words} words
+     */
+    static String subjective(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder(words * 8);
+        int written = 0;
+        while (written < words) {
+            text.append("<p>");
+            int sentences = 1 + random.nextInt(4);
+            for (int sentence = 0; sentence < sentences && written < words; sentence++) {
+                int length = Math.min(words - written, 6 + random.nextInt(12));
+                for (int word = 0; word < length; word++) {
+                    String next = WORDS[random.nextInt(WORDS.length)];
+                    if (word == 0) {
+                        text.append(Character.toUpperCase(next.charAt(0))).append(next, 1, next.length());
+                    } else {
+                        text.append(' ').append(next);
+                    }
+                }
+                text.append(sentence + 1 < sentences ? ". " : ".");
+                written += length;
+            }
+            text.append("</p>");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Java solution of {@code lines} lines
+     */
+    static String programming(SplittableRandom random, int lines) {
+        StringBuilder code = new StringBuilder(lines * 40);
+        code.append("import java.util.*;\n\npublic class Solution {\n    public static void main(String[] args) {\n");
+        code.append("        Scanner scanner = new Scanner(System.in);\n");
+        for (int line = 6; line < lines - 2; line++) {
+            code.append("        ").append(CODE_LINES[random.nextInt(CODE_LINES.length)]).append('\n');
+        }
+        code.append("    }\n}");
+        return code.toString();
+    }
+}
@@ -0,0 +1,213 @@
+package loadgen.data;
+
+import base.ScreeningSession;
+import entity.common.AnalysisIds;
+import entity.common.CopyBreakdown;
+import entity.common.CopyPasteAnalysis;
+import entity.common.CopyPasteCorrelations;
+import entity.common.FocusAnalysis;
+import entity.common.FullQuestionCopies;
+import entity.common.GlobalEventAnalysis;
+import entity.common.OptionCopies;
+import entity.common.PasteAnalysis;
+import entity.common.QualityAnalysis;
+import entity.common.QuestionCopies;
+import entity.common.TypingAnalysis;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates distinct synthetic candidates on demand, so any number of them can be replayed
+ * with memory use independent of the count.
+ * <p>
+ * Candidate {@code n} is derived from the profile's seed and {@code n} alone, which makes a run
+ * reproducible and lets threads generate candidates independently. Typing speed is normally
+ * distributed (about 42 words per minute for prose and 28 for code), durations follow from the
+ * typed characters, and suspicious candidates paste part of their answers, lose focus more often
+ * and copy MCQ text, with risk scores to match. Session IDs are random Mongo-style IDs, so they
+ * only make sense against the stub backend.
+ */
+public class CandidateGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final DataProfile profile;
+    private final WeightedChoice mcqChoices;
+    private final AtomicLong nextIndex = new AtomicLong();
+
+    public CandidateGenerator(DataProfile profile) {
+        this.profile = profile;
+        this.mcqChoices = WeightedChoice.parse(profile.getMcqAnswers());
+    }
+
+    public DataProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * The candidate at the given position
+     */
+    public SyntheticCandidate candidate(long index) {
+        SplittableRandom random = new SplittableRandom(profile.getSeed() + index * GOLDEN_GAMMA);
+        ScreeningSession session = ScreeningSession.builder()
+                .candidateScreeningId(objectId(random))
+                .jobRoleID(objectId(random))
+                .jobApplicationID(objectId(random))
+                .build();
+        boolean suspicious = random.nextDouble() < profile.getSuspiciousRatio();
+
+        int words = between(random, profile.getSubjectiveWordsMin(), profile.getSubjectiveWordsMax());
+        String subjectiveAnswer = AnswerText.subjective(random, words);
+        SyntheticCandidate.SyntheticCandidateBuilder candidate = SyntheticCandidate.builder()
+                .index(index)
+                .session(session)
+                .suspicious(suspicious)
+                .subjectiveAnswer(subjectiveAnswer)
+                .subjectiveTypingAnalysis(typingAnalysis(random, subjectiveAnswer.length(), words, false, suspicious))
+                .mcqCopyPasteAnalysis(copyPasteAnalysis(random, suspicious))
+                .mcqSeed(random.nextLong())
+                .mcqChoices(mcqChoices);
+        if (profile.isAnswerProgramming()) {
+            int lines = between(random, profile.getProgrammingLinesMin(), profile.getProgrammingLinesMax());
+            String programmingAnswer = AnswerText.programming(random, lines);
+            int tokens = programmingAnswer.split("\\s+").length;
+            candidate.programmingAnswer(programmingAnswer)
+                    .programmingTypingAnalysis(typingAnalysis(random, programmingAnswer.length(), tokens, true, suspicious));
+        }
+        return candidate.build();
+    }
+
+    /**
+     * The first {@code count} candidates, each generated when the stream reaches it
+     */
+    public Stream<SyntheticCandidate> stream(long count) {
+        return LongStream.range(0, count).mapToObj(this::candidate);
+    }
+
+    /**
+     * Next candidate of this generator's sequence; safe to call from many threads
+     */
+    public SyntheticCandidate next() {
+        return candidate(nextIndex.getAndIncrement());
+    }
+
+    private static TypingAnalysis typingAnalysis(SplittableRandom random, int characters, int words, boolean code,
+                                                 boolean suspicious) {
+        double wordsPerMinute = Math.max(8, Math.min(120, code ? 28 + random.nextGaussian() * 8 : 42 + random.nextGaussian() * 12));
+        int pasteEvents = suspicious ? 1 + random.nextInt(5) : 0;
+        int pastedCharacters = suspicious ? (int) (characters * (0.3 + random.nextDouble() * 0.6)) : 0;
+        int typedCharacters = characters - pastedCharacters;
+        int backspaces = (int) (typedCharacters * (0.02 + random.nextDouble() * 0.13));
+        int keystrokes = typedCharacters + backspaces;
+        // a word is five characters
+        int typingMs = (int) (typedCharacters * 12_000 / wordsPerMinute);
+        int totalDuration = typingMs + 5_000 + random.nextInt(55_000);
+        int focusLosses = suspicious ? 2 + random.nextInt(10) : random.nextInt(3);
+        int pastePercentage = characters == 0 ? 0 : (int) (100L * pastedCharacters / characters);
+        int riskScore = suspicious ? 40 + random.nextInt(56) : random.nextInt(15);
+        double minutes = totalDuration / 60_000.0;
+
+        return TypingAnalysis.builder()
+                .totalDuration(totalDuration)
+                .totalCharacters(characters)
+                .keystrokeCount(keystrokes)
+                .pasteEventCount(pasteEvents)
+                .copyEventCount(suspicious ? random.nextInt(3) : 0)
+                .focusLossCount(focusLosses)
+                .pasteAnalysis(pasteEvents == 0 ? PasteAnalysis.createDefault() : PasteAnalysis.builder()
+                        .totalPasteEvents(pasteEvents)
+                        .totalPastedCharacters(pastedCharacters)
+                        .pastePercentage(pastePercentage)
+                        .rawPastePercentage(pastePercentage)
+                        .largestPaste(Math.min(pastedCharacters, pastedCharacters / pasteEvents * 2))
+                        .hasCodePatterns(code)
+                        .hasFormatting(!code)
+                        .riskLevel(pastePercentage >= 50 ? "high" : "medium")
+                        .build())
+                .typingAnalysis(TypingAnalysis.createInnerTypingAnalysis(
+                        round(typedCharacters / Math.max(1.0, typingMs / 1000.0)), keystrokes, backspaces))
+                .focusAnalysis(FocusAnalysis.builder()
+                        .totalFocusEvents(focusLosses * 2)
+                        .focusLossCount(focusLosses)
+                        .focusChangeFrequency(round(focusLosses / minutes))
+                        .riskLevel(focusLosses >= 5 ? "high" : focusLosses >= 2 ? "medium" : "low")
+                        .build())
+                .qualityAnalysis(QualityAnalysis.builder()
+                        .wordCount(words)
+                        .averageWordsPerMinute(round(words / minutes))
+                        .hasProperStructure(code || words > 60)
+                        .hasVariedVocabulary(random.nextInt(5) > 0)
+                        .qualityScore(1 + random.nextInt(5))
+                        .riskLevel(riskLevel(riskScore))
+                        .build())
+                .globalEventAnalysis(suspicious ? GlobalEventAnalysis.builder()
+                        .globalCopyCount(1 + random.nextInt(4))
+                        .questionCopyCount(random.nextInt(3))
+                        .externalInteractionCount(focusLosses)
+                        .hasQuestionCopying(true)
+                        .hasHighRiskCopying(riskScore >= 70)
+                        .suspiciousPatternCount(1 + random.nextInt(3))
+                        .riskLevel(riskLevel(riskScore))
+                        .build() : GlobalEventAnalysis.createDefault())
+                .copyPasteCorrelations(suspicious ? CopyPasteCorrelations.builder()
+                        .totalCorrelations(pasteEvents)
+                        .questionPasteCount(random.nextInt(pasteEvents + 1))
+                        .averageTimeBetween(2_000 + random.nextInt(20_000))
+                        .riskLevel(riskLevel(riskScore))
+                        .build() : CopyPasteCorrelations.createDefault())
+                .riskScore(riskScore)
+                .privacyCompliant(true)
+                .build();
+    }
+
+    private static CopyPasteAnalysis copyPasteAnalysis(SplittableRandom random, boolean suspicious) {
+        int questionCopies = suspicious ? random.nextInt(4) : 0;
+        int optionCopies = suspicious ? random.nextInt(5) : 0;
+        int fullQuestionCopies = suspicious && random.nextInt(4) == 0 ? 1 : 0;
+        int riskScore = suspicious ? 30 + random.nextInt(66) : random.nextInt(10);
+        return CopyPasteAnalysis.builder()
+                .totalDuration(2_000 + random.nextInt(58_000))
+                .totalCopyEvents(questionCopies + optionCopies + fullQuestionCopies)
+                .questionCopyCount(questionCopies)
+                .optionCopyCount(optionCopies)
+                .fullQuestionCopyCount(fullQuestionCopies)
+                .hasQuestionCopying(questionCopies > 0)
+                .hasOptionCopying(optionCopies > 0)
+                .hasFullQuestionCopying(fullQuestionCopies > 0)
+                .riskScore(riskScore)
+                .riskLevel(riskLevel(riskScore))
+                .isSuspicious(riskScore >= 50)
+                .copyBreakdown(CopyBreakdown.builder()
+                        .questionCopies(QuestionCopies.builder().count(questionCopies)
+                                .averageLength(questionCopies == 0 ? 0 : 40 + random.nextInt(160)).timestamps(List.of()).build())
+                        .optionCopies(OptionCopies.builder().count(optionCopies)
+                                .averageLength(optionCopies == 0 ? 0 : 10 + random.nextInt(40)).timestamps(List.of()).build())
+                        .fullQuestionCopies(FullQuestionCopies.builder().count(fullQuestionCopies)
+                                .averageLength(fullQuestionCopies == 0 ? 0 : 200 + random.nextInt(300)).timestamps(List.of()).build())
+                        .build())
+                .sessionId(CopyPasteAnalysis.generateSessionId())
+                .analysisVersion("2.0-mcq-focused")
+                .timestamp(AnalysisIds.timestamp())
+                .build();
+    }
+
+    private static String riskLevel(int riskScore) {
+        return riskScore >= 70 ? "high" : riskScore >= 30 ? "medium" : "low";
+    }
+
+    private static int between(SplittableRandom random, int min, int max) {
+        return max <= min ? min : min + random.nextInt(max - min + 1);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String objectId(SplittableRandom random) {
+        return String.format("%08x%016x", random.nextInt(), random.nextLong());
+    }
+}
@@ -0,0 +1,172 @@
+package loadgen.data;
+
+import base.ScreeningSession;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Candidate sessions listed in a manifest file, read one line at a time so the file can be of
+ * any size.
+ * <p>
+ * Files ending in {@code .jsonl} or {@code .ndjson} hold one JSON object per line; anything else
+ * is read as CSV whose header names the columns. Both carry {@code candidateScreeningId},
+ * {@code jobRoleId} and {@code jobApplicationId}; other fields are ignored. Blank lines and
+ * lines starting with {@code #} are skipped. CSV values may be quoted but cannot contain commas.
+ */
+public final class CandidateManifest implements Iterator<ScreeningSession>, Closeable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] COLUMNS = {"candidateScreeningId", "jobRoleId", "jobApplicationId"};
+
+    private final Path path;
+    private final BufferedReader reader;
+    private final boolean json;
+    private int[] columnIndexes;
+    private long lineNumber;
+    private ScreeningSession next;
+
+    private CandidateManifest(Path path, BufferedReader reader, boolean json) {
+        this.path = path;
+        this.reader = reader;
+        this.json = json;
+    }
+
+    public static CandidateManifest open(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        try {
+            return new CandidateManifest(path, Files.newBufferedReader(path, StandardCharsets.UTF_8),
+                    name.endsWith(".jsonl") || name.endsWith(".ndjson"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open candidate manifest " + path, e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ScreeningSession next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more candidates in " + path);
+        }
+        ScreeningSession session = next;
+        next = null;
+        return session;
+    }
+
+    /**
+     * Line of the candidate returned last, counting from 1
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close candidate manifest " + path, e);
+        }
+    }
+
+    private ScreeningSession readNext() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (json) {
+                    return fromJson(line);
+                }
+                if (columnIndexes == null) {
+                    columnIndexes = readHeader(line);
+                    continue;
+                }
+                return fromCsv(line);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read candidate manifest " + path + " at line " + lineNumber, e);
+        }
+    }
+
+    private ScreeningSession fromJson(String line) throws IOException {
+        JsonNode row = MAPPER.readTree(line);
+        String[] values = new String[COLUMNS.length];
+        for (int column = 0; column < COLUMNS.length; column++) {
+            values[column] = row.path(COLUMNS[column]).asText(null);
+        }
+        return session(values);
+    }
+
+    private int[] readHeader(String line) {
+        String[] header = split(line);
+        int[] indexes = new int[COLUMNS.length];
+        for (int column = 0; column < COLUMNS.length; column++) {
+            indexes[column] = -1;
+            for (int index = 0; index < header.length; index++) {
+                if (header[index].equalsIgnoreCase(COLUMNS[column])) {
+                    indexes[column] = index;
+                }
+            }
+            if (indexes[column] < 0) {
+                throw new IllegalArgumentException("Candidate manifest " + path + " has no " + COLUMNS[column] + " column");
+            }
+        }
+        return indexes;
+    }
+
+    private ScreeningSession fromCsv(String line) {
+        String[] cells = split(line);
+        String[] values = new String[COLUMNS.length];
+        for (int column = 0; column < COLUMNS.length; column++) {
+            int index = columnIndexes[column];
+            values[column] = index < cells.length ? cells[index] : null;
+        }
+        return session(values);
+    }
+
+    private ScreeningSession session(String[] values) {
+        for (int column = 0; column < COLUMNS.length; column++) {
+            if (values[column] == null || values[column].isEmpty()) {
+                throw new IllegalArgumentException("Candidate manifest " + path + " line " + lineNumber
+                        + " has no " + COLUMNS[column]);
+            }
+        }
+        return ScreeningSession.builder()
+                .candidateScreeningId(values[0])
+                .jobRoleID(values[1])
+                .jobApplicationID(values[2])
+                .build();
+    }
+
+    private static String[] split(String line) {
+        String[] cells = line.split(",", -1);
+        for (int index = 0; index < cells.length; index++) {
+            String cell = cells[index].trim();
+            if (cell.length() >= 2 && cell.startsWith("\"") && cell.endsWith("\"")) {
+                cell = cell.substring(1, cell.length() - 1);
+            }
+            cells[index] = cell;
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,57 @@
+package loadgen.data;
+
+import base.ApplicationConfig;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Shape of the synthetic candidates made by {@link CandidateGenerator}.
+ * <p>
+ * Answer sizes are drawn uniformly between their bounds; MCQ answers follow the weights of
+ * {@code mcqAnswers}, written as {@code answer:weight,answer:weight}. A {@code suspiciousRatio}
+ * share of candidates pastes, copies and leaves the window the way a cheating candidate would.
+ * The same {@code seed} always yields the same candidates.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class DataProfile {
+
+    @Builder.Default
+    private final long seed = 1;
+    @Builder.Default
+    private final int subjectiveWordsMin = 30;
+    @Builder.Default
+    private final int subjectiveWordsMax = 250;
+    @Builder.Default
+    private final int programmingLinesMin = 20;
+    @Builder.Default
+    private final int programmingLinesMax = 150;
+    @Builder.Default
+    private final String mcqAnswers = "SignatureException:70,MalformedJwtException:10,ExpiredJwtException:10,UnsupportedJwtException:10";
+    @Builder.Default
+    private final double suspiciousRatio = 0.1;
+    /**
+     * Whether candidates answer the programming question; off by default to keep the answer mix
+     * of the functional test
+     */
+    @Builder.Default
+    private final boolean answerProgramming = false;
+
+    /**
+     * Reads {@code data.*} properties, keeping the defaults above for anything unset.
+     * Without {@code data.seed} every run draws a new seed, so IDs do not repeat across runs.
+     */
+    public static DataProfile fromSystemProperties() {
+        DataProfile defaults = DataProfile.builder().build();
+        return DataProfile.builder()
+                .seed(ApplicationConfig.getLongProperty("data.seed", System.nanoTime()))
+                .subjectiveWordsMin(ApplicationConfig.getIntProperty("data.subjective.minWords", defaults.subjectiveWordsMin))
+                .subjectiveWordsMax(ApplicationConfig.getIntProperty("data.subjective.maxWords", defaults.subjectiveWordsMax))
+                .programmingLinesMin(ApplicationConfig.getIntProperty("data.programming.minLines", defaults.programmingLinesMin))
+                .programmingLinesMax(ApplicationConfig.getIntProperty("data.programming.maxLines", defaults.programmingLinesMax))
+                .mcqAnswers(ApplicationConfig.getProperty("data.mcq.answers", defaults.mcqAnswers))
+                .suspiciousRatio(ApplicationConfig.getDoubleProperty("data.suspiciousRatio", defaults.suspiciousRatio))
+                .answerProgramming(ApplicationConfig.getBooleanProperty("data.programming.enabled", defaults.answerProgramming))
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package loadgen.data;
+
+import base.ApplicationConfig;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sets the {@code data-provider-thread-count} of every suite from {@code manifest.threads}, so
+ * the number of manifest rows screened at once is chosen per run rather than in the suite file.
+ * Must be registered in the suite file, as TestNG reads suite-altering listeners before the tests.
+ */
+public class DataProviderThreadsListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(ApplicationConfig.getIntProperty("manifest.threads",
+                    suite.getDataProviderThreadCount()));
+        }
+    }
+}
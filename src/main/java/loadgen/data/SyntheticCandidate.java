@@ -0,0 +1,45 @@
+package loadgen.data;
+
+import base.ScreeningSession;
+import entity.common.CopyPasteAnalysis;
+import entity.common.TypingAnalysis;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.SplittableRandom;
+
+/**
+ * One generated candidate: session IDs, answers and the behaviour metrics sent with them
+ */
+@Builder(toBuilder = true)
+@Getter
+public class SyntheticCandidate {
+    /**
+     * Position in the generator's sequence; the same index and seed give the same candidate
+     */
+    private final long index;
+    private final ScreeningSession session;
+    private final boolean suspicious;
+    private final String subjectiveAnswer;
+    private final TypingAnalysis subjectiveTypingAnalysis;
+    private final String programmingAnswer;
+    private final TypingAnalysis programmingTypingAnalysis;
+    private final CopyPasteAnalysis mcqCopyPasteAnalysis;
+    @Getter(AccessLevel.NONE)
+    private final long mcqSeed;
+    @Getter(AccessLevel.NONE)
+    private final WeightedChoice mcqChoices;
+
+    /**
+     * Answer to the MCQ at the given position of the screening
+     */
+    public String mcqAnswer(int position) {
+        return mcqChoices.pick(new SplittableRandom(mcqSeed + position).nextDouble());
+    }
+
+    @Override
+    public String toString() {
+        return "candidate " + index + " (" + session.getCandidateScreeningId() + ")";
+    }
+}
@@ -0,0 +1,62 @@
+package loadgen.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Picks values with the relative weights of a spec such as {@code a:70,b:20,c:10}; a value
+ * without a weight counts as 1
+ */
+final class WeightedChoice {
+
+    private final String[] values;
+    private final double[] cumulative;
+
+    private WeightedChoice(String[] values, double[] cumulative) {
+        this.values = values;
+        this.cumulative = cumulative;
+    }
+
+    static WeightedChoice parse(String spec) {
+        List<String> values = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.lastIndexOf(':');
+            double weight = colon < 0 ? 1 : Double.parseDouble(entry.substring(colon + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in '" + spec + "'");
+            }
+            if (weight == 0) {
+                continue;
+            }
+            values.add((colon < 0 ? entry : entry.substring(0, colon)).trim());
+            weights.add(weight);
+        }
+        double[] cumulative = new double[weights.size()];
+        double total = 0;
+        for (int index = 0; index < cumulative.length; index++) {
+            total += weights.get(index);
+            cumulative[index] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("No positive weight in '" + spec + "'");
+        }
+        for (int index = 0; index < cumulative.length; index++) {
+            cumulative[index] /= total;
+        }
+        return new WeightedChoice(values.toArray(new String[0]), cumulative);
+    }
+
+    /**
+     * @param uniform Uniform draw in [0, 1)
+     */
+    String pick(double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        index = index < 0 ? -index - 1 : index + 1;
+        return values[Math.min(index, values.length - 1)];
+    }
+}
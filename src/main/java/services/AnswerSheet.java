@@ -0,0 +1,52 @@
+package services;
+
+import entity.common.CopyPasteAnalysis;
+import entity.common.TypingAnalysis;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything one candidate answers in a screening; a question left null is skipped.
+ * Analyses left null are sent with the services' default values.
+ */
+@Builder
+@Getter
+public class AnswerSheet {
+    private final String experience;
+    private final String audioQuestionId;
+    private final String audioFilePath;
+    private final String videoQuestionId;
+    private final String videoFilePath;
+    private final String subjectiveQuestionId;
+    private final String subjectiveAnswer;
+    private final TypingAnalysis subjectiveTypingAnalysis;
+    private final String programmingQuestionId;
+    private final String programmingAnswer;
+    private final TypingAnalysis programmingTypingAnalysis;
+    private final String screeningTestId;
+    @Singular
+    private final List<String> mcqQuestionIds;
+    /**
+     * Answer to every MCQ without an entry in {@code mcqAnswersById}
+     */
+    private final String mcqAnswer;
+    @Singular("mcqAnswerById")
+    private final Map<String, String> mcqAnswersById;
+    private final CopyPasteAnalysis mcqCopyPasteAnalysis;
+
+    /**
+     * Answer per MCQ question ID, in question order
+     */
+    public Map<String, String> mcqAnswers() {
+        Map<String, String> answers = new LinkedHashMap<>();
+        for (String questionId : mcqQuestionIds) {
+            answers.put(questionId, mcqAnswersById.getOrDefault(questionId, mcqAnswer));
+        }
+        return answers;
+    }
+}
@@ -1,10 +1,16 @@
 package services;
 
 import base.APIControlActions;
+import base.ApplicationConfig;
+import base.ScreeningSession;
+import base.http.BlockBlobUploader;
+import entity.common.AnalysisIds;
+import entity.common.CopyPasteAnalysis;
 import entity.common.FileGeneratorPayload;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import utility.JavaToJSON;
+import utility.PayloadTemplate;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -18,6 +24,50 @@ import java.util.Map;
 public abstract class BaseService extends APIControlActions {
 
     private static final Map<String, String> JSON_HEADERS = createJsonHeaders();
+    private static final boolean STREAMING_UPLOADS = ApplicationConfig.getBooleanProperty("upload.streaming", true);
+    private static final long BLOCK_UPLOAD_THRESHOLD_BYTES =
+            ApplicationConfig.getLongProperty("upload.block.thresholdBytes", 16L * 1024 * 1024);
+    private static final BlockBlobUploader BLOCK_BLOB_UPLOADER = BlockBlobUploader.fromSystemProperties();
+    private static final UploadSlotPool UPLOAD_SLOT_POOL = UploadSlotPool.fromSystemProperties(
+            type -> new UploadSlotGenerator().requestUploadSlot(type.toFileGeneratorPayload()));
+
+    protected final ScreeningSession session;
+
+    /**
+     * Binds the service to the identifiers currently held in {@link base.ScreeningControl}
+     */
+    protected BaseService() {
+        this(ScreeningSession.fromScreeningControl());
+    }
+
+    protected BaseService(ScreeningSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Default copy-paste analysis for a {@link PayloadTemplate}, with its session ID and timestamp
+     * left as the slots {@code copyPasteSessionId} and {@code timestamp}
+     */
+    protected static CopyPasteAnalysis copyPasteAnalysisTemplate(int totalDuration) {
+        CopyPasteAnalysis analysis = CopyPasteAnalysis.createDefault(totalDuration);
+        analysis.setSessionId(PayloadTemplate.slot("copyPasteSessionId"));
+        analysis.setTimestamp(PayloadTemplate.slot("timestamp"));
+        return analysis;
+    }
+
+    /**
+     * Fresh values for the {@code copyPasteSessionId} slot
+     */
+    protected static String newCopyPasteSessionId() {
+        return CopyPasteAnalysis.generateSessionId();
+    }
+
+    /**
+     * Fresh values for the {@code timestamp} slot
+     */
+    protected static String newTimestamp() {
+        return AnalysisIds.timestamp();
+    }
 
     private static Map<String, String> createJsonHeaders() {
         Map<String, String> headers = new HashMap<>();
@@ -42,6 +92,7 @@ public abstract class BaseService extends APIControlActions {
      */
     @Step("Generate upload URL for media file")
     protected Response generateUploadUrl(FileGeneratorPayload payload) {
+        resetRequestBuilder();
         setJsonHeaders();
         String jsonPayload = JavaToJSON.convertToJSON(payload);
         setBody(jsonPayload);
@@ -49,7 +100,37 @@ public abstract class BaseService extends APIControlActions {
     }
 
     /**
-     * Uploads a file to Azure blob storage
+     * Generates an upload URL and returns it with its file ID
+     *
+     * @param payload The file generator payload
+     * @return The slot to upload the media file to
+     */
+    @Step("Request upload slot for media file")
+    protected UploadSlot requestUploadSlot(FileGeneratorPayload payload) {
+        Response response = generateUploadUrl(payload);
+        String uploadUrl = extractUploadUrl(response);
+        return UploadSlot.builder()
+                .fileId(extractFileId(response))
+                .uploadUrl(uploadUrl)
+                .expiresAt(UploadSlot.sasExpiry(uploadUrl))
+                .build();
+    }
+
+    /**
+     * Takes a prefetched slot from {@link UploadSlotPool} when {@code upload.prefetch.size} is set,
+     * otherwise generates one now
+     */
+    protected UploadSlot takeUploadSlot(MediaType type) {
+        return UPLOAD_SLOT_POOL != null ? UPLOAD_SLOT_POOL.take(type) : requestUploadSlot(type.toFileGeneratorPayload());
+    }
+
+    /**
+     * Uploads a file to Azure blob storage.
+     * <p>
+     * The file is streamed from disk by default; set {@code -Dupload.streaming=false} to send it
+     * as an in-memory byte array through RestAssured (useful when the full body must be logged).
+     * Streamed files larger than {@code upload.block.thresholdBytes} (default 16 MiB) go up as
+     * parallel blocks through {@link BlockBlobUploader}.
      *
      * @param azureURL  The Azure upload URL
      * @param filePath  Path to the local file
@@ -61,10 +142,16 @@ public abstract class BaseService extends APIControlActions {
         Response response;
         try {
             resetRequestBuilder();
+            if (STREAMING_UPLOADS && Files.size(path) > BLOCK_UPLOAD_THRESHOLD_BYTES) {
+                return BLOCK_BLOB_UPLOADER.upload(azureURL, path);
+            }
             setHeader("x-ms-blob-type", "BlockBlob");
-            byte[] fileContent = Files.readAllBytes(path);
-            setBody(fileContent);
-            response = executeMultipartPutAPIWithFullUrl(azureURL);
+            if (STREAMING_UPLOADS) {
+                response = executeStreamingPutAPIWithFullUrl(azureURL, path);
+            } else {
+                setBody(Files.readAllBytes(path));
+                response = executeMultipartPutAPIWithFullUrl(azureURL);
+            }
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload file to Azure: " + e.getMessage(), e);
         }
@@ -80,6 +167,7 @@ public abstract class BaseService extends APIControlActions {
      */
     @Step("Update candidate result for screening ID: {candidateScreeningId}")
     protected Response updateCandidateResult(String candidateScreeningId, String payload) {
+        resetRequestBuilder();
         setJsonHeaders();
         setBody(payload);
         return executePatchAPI("/api/candidateScreening/update-candidate-result/" + candidateScreeningId);
@@ -93,6 +181,7 @@ public abstract class BaseService extends APIControlActions {
      */
     @Step("Analyze response URI")
     protected Response analyzeResponseUri(String payload) {
+        resetRequestBuilder();
         setJsonHeaders();
         setBody(payload);
         return executePostAPI("/api/candidateScreening/analyze-response-uri");
@@ -118,5 +207,13 @@ public abstract class BaseService extends APIControlActions {
     public void validateSchema(Response response, String schemaPath) {
         verifySchemaForResponse(response, schemaPath);
     }
-}
 
+    /**
+     * Generates slots for the prefetch pool; generate-upload-url does not depend on the candidate
+     */
+    private static final class UploadSlotGenerator extends BaseService {
+        private UploadSlotGenerator() {
+            super(ScreeningSession.builder().build());
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package services;
 
-import base.ScreeningControl;
+import base.ApplicationConfig;
+import base.ScreeningSession;
+import entity.common.AnalysisIds;
 import entity.common.CopyPasteAnalysis;
 import entity.mcqPOJO.MCQRootPayload;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import utility.JavaToJSON;
+import utility.PayloadTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for handling MCQ answer submissions
@@ -14,26 +28,143 @@ public class MCQService extends BaseService {
 
     private static final int DEFAULT_TIME_SPENT = 9;
     private static final int DEFAULT_DURATION = 257;
+    private static final int BATCH_MAX_IN_FLIGHT = ApplicationConfig.getIntProperty("mcq.batch.maxInFlight", 8);
+    private static final AtomicInteger BATCH_THREAD_COUNT = new AtomicInteger();
+    /**
+     * Shared by every batch that is not given an executor; each batch limits its own calls in flight
+     */
+    private static final ExecutorService BATCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mcq-batch-" + BATCH_THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final PayloadTemplate MCQ_ANSWER_TEMPLATE = PayloadTemplate.compile(
+            buildPayload(PayloadTemplate.slot("questionId"), PayloadTemplate.slot("jobRoleId"),
+                    PayloadTemplate.slot("experience"), PayloadTemplate.slot("jobApplicationId"),
+                    PayloadTemplate.slot("candidateAnswer"), copyPasteAnalysisTemplate(DEFAULT_DURATION)),
+            "questionId", "jobRoleId", "experience", "jobApplicationId", "candidateAnswer", "copyPasteSessionId", "timestamp");
+
+    public MCQService() {
+        super();
+    }
+
+    public MCQService(ScreeningSession session) {
+        super(session);
+    }
 
     @Step("Submit MCQ answer for question ID: {questionId} with answer: {candidateAnswer}")
     public Response submitMCQAnswer(String questionId, String experience, String candidateAnswer) {
-        MCQRootPayload payload = MCQRootPayload.builder()
+        return updateCandidateResult(session.getCandidateScreeningId(), buildMCQPayload(questionId, experience, candidateAnswer));
+    }
+
+    /**
+     * Submits every MCQ answer of the screening concurrently, at most {@code mcq.batch.maxInFlight}
+     * (default 8) at a time. All payloads are built before the first request is sent, and the
+     * batch waits for every call before reporting the first failure.
+     *
+     * @param answers    Candidate answer per question ID
+     * @param experience Candidate experience
+     * @return Response per question ID, in the order of {@code answers}
+     */
+    public Map<String, Response> submitMCQAnswers(Map<String, String> answers, String experience) {
+        return submitMCQAnswers(answers, experience, null);
+    }
+
+    /**
+     * Same as {@link #submitMCQAnswers(Map, String)}, with the candidate's own copy-paste analysis
+     *
+     * @param copyPasteAnalysis Copy-paste metrics sent with every answer, each with its own session ID
+     *                          and timestamp; null uses the default analysis
+     */
+    public Map<String, Response> submitMCQAnswers(Map<String, String> answers, String experience,
+                                                  CopyPasteAnalysis copyPasteAnalysis) {
+        return submitMCQAnswers(answers, experience, copyPasteAnalysis, BATCH_EXECUTOR);
+    }
+
+    /**
+     * Same as {@link #submitMCQAnswers(Map, String, CopyPasteAnalysis)}, sending the calls on the given executor
+     *
+     * @param executor Runs the calls, e.g. the load run's answer executor; the batch itself bounds how many
+     *                 are in flight
+     */
+    @Step("Submit MCQ answers in batch")
+    public Map<String, Response> submitMCQAnswers(Map<String, String> answers, String experience,
+                                                  CopyPasteAnalysis copyPasteAnalysis, Executor executor) {
+        Map<String, String> payloads = new LinkedHashMap<>();
+        answers.forEach((questionId, answer) -> payloads.put(questionId, copyPasteAnalysis == null
+                ? buildMCQPayload(questionId, experience, answer)
+                : JavaToJSON.convertToJSON(buildPayload(questionId, session.getJobRoleID(), experience,
+                session.getJobApplicationID(), answer, copyPasteAnalysis.toBuilder()
+                        .sessionId(CopyPasteAnalysis.generateSessionId())
+                        .timestamp(AnalysisIds.timestamp())
+                        .build()))));
+
+        String testCase = Allure.getLifecycle().getCurrentTestCase().orElse(null);
+        Semaphore inFlight = new Semaphore(BATCH_MAX_IN_FLIGHT);
+        Map<String, CompletableFuture<Response>> pending = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : payloads.entrySet()) {
+            inFlight.acquireUninterruptibly();
+            CompletableFuture<Response> call;
+            try {
+                call = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        if (testCase != null) {
+                            // report the calls under the test that started the batch
+                            Allure.getLifecycle().setCurrentTestCase(testCase);
+                        }
+                        return updateCandidateResult(session.getCandidateScreeningId(), entry.getValue());
+                    } finally {
+                        inFlight.release();
+                    }
+                }, executor);
+            } catch (RuntimeException e) {
+                // rejected by the executor
+                inFlight.release();
+                call = CompletableFuture.failedFuture(e);
+            }
+            pending.put(entry.getKey(), call);
+        }
+
+        Map<String, Response> responses = new LinkedHashMap<>();
+        RuntimeException failure = null;
+        for (Map.Entry<String, CompletableFuture<Response>> entry : pending.entrySet()) {
+            try {
+                responses.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = new RuntimeException("MCQ answer for question " + entry.getKey() + " failed: "
+                            + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return responses;
+    }
+
+    private String buildMCQPayload(String questionId, String experience, String candidateAnswer) {
+        return MCQ_ANSWER_TEMPLATE.render(questionId, session.getJobRoleID(), experience, session.getJobApplicationID(),
+                candidateAnswer, newCopyPasteSessionId(), newTimestamp());
+    }
+
+    private static MCQRootPayload buildPayload(String questionId, String jobRoleId, String experience,
+                                               String jobApplicationId, String candidateAnswer,
+                                               CopyPasteAnalysis copyPasteAnalysis) {
+        return MCQRootPayload.builder()
                 .questionId(questionId)
                 .type("mcq")
                 .skill("api")
-                .jobRoleId(ScreeningControl.jobRoleID)
+                .jobRoleId(jobRoleId)
                 .experience(experience)
-                .jobApplicationId(ScreeningControl.jobApplicationID)
+                .jobApplicationId(jobApplicationId)
                 .timeSpent(DEFAULT_TIME_SPENT)
                 .fullScreenExitCount(0)
                 .tabSwitchCount(0)
                 .candidateAnswer(candidateAnswer)
-                .copyPasteAnalysis(CopyPasteAnalysis.createDefault(DEFAULT_DURATION))
+                .copyPasteAnalysis(copyPasteAnalysis)
                 .hasCopyPasteAnalysis(true)
                 .build();
-
-        String jsonPayload = JavaToJSON.convertToJSON(payload);
-        return updateCandidateResult(ScreeningControl.candidateScreeningId, jsonPayload);
     }
 
 }
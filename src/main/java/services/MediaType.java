@@ -0,0 +1,23 @@
+package services;
+
+import entity.common.FileGeneratorPayload;
+
+import java.util.function.Supplier;
+
+/**
+ * Kinds of media answer that need an upload slot
+ */
+public enum MediaType {
+    AUDIO(FileGeneratorPayload::forAudio),
+    VIDEO(FileGeneratorPayload::forVideo);
+
+    private final Supplier<FileGeneratorPayload> payload;
+
+    MediaType(Supplier<FileGeneratorPayload> payload) {
+        this.payload = payload;
+    }
+
+    public FileGeneratorPayload toFileGeneratorPayload() {
+        return payload.get();
+    }
+}
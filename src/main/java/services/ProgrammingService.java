@@ -1,5 +1,6 @@
 package services;
 
+import base.ScreeningSession;
 import entity.common.CopyPasteCorrelations;
 import entity.common.FocusAnalysis;
 import entity.common.GlobalEventAnalysis;
@@ -10,6 +11,7 @@ import entity.programmingPOJO.ProgrammingPayload;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import utility.JavaToJSON;
+import utility.PayloadTemplate;
 
 import java.util.ArrayList;
 
@@ -20,6 +22,19 @@ public class ProgrammingService extends BaseService {
 
     private static final int DEFAULT_TIME_SPENT = 73;
     private static final int DEFAULT_DURATION = 68166;
+    private static final PayloadTemplate PROGRAMMING_ANSWER_TEMPLATE = PayloadTemplate.compile(
+            buildPayload(PayloadTemplate.slot("questionId"), PayloadTemplate.slot("jobRoleId"),
+                    PayloadTemplate.slot("experience"), PayloadTemplate.slot("jobApplicationId"),
+                    PayloadTemplate.slot("screeningTestId"), getSampleProgrammingAnswer(), buildTypingAnalysis()),
+            "questionId", "jobRoleId", "experience", "jobApplicationId", "screeningTestId");
+
+    public ProgrammingService() {
+        super();
+    }
+
+    public ProgrammingService(ScreeningSession session) {
+        super(session);
+    }
 
     @Step("Submit programming answer for question ID: {questionId}")
     public Response submitProgrammingAnswer(String candidateScreeningId, String questionId, String jobRoleId,
@@ -28,12 +43,30 @@ public class ProgrammingService extends BaseService {
         return updateCandidateResult(candidateScreeningId, payload);
     }
 
+    /**
+     * Submits the candidate's own code and typing analysis for the session's screening
+     *
+     * @param typingAnalysis Typing metrics of the answer; null uses the default analysis
+     */
+    @Step("Submit programming answer for question ID: {questionId}")
+    public Response submitProgrammingAnswer(String questionId, String experience, String screeningTestId,
+                                            String candidateAnswer, TypingAnalysis typingAnalysis) {
+        String payload = JavaToJSON.convertToJSON(buildPayload(questionId, session.getJobRoleID(), experience,
+                session.getJobApplicationID(), screeningTestId, candidateAnswer,
+                typingAnalysis == null ? buildTypingAnalysis() : typingAnalysis));
+        return updateCandidateResult(session.getCandidateScreeningId(), payload);
+    }
+
     @Step("Build programming answer payload for question ID: {questionId}")
     private String buildProgrammingAnswerPayload(String questionId, String jobRoleId, String experience,
                                                   String jobApplicationId, String screeningTestId) {
-        String candidateAnswer = getSampleProgrammingAnswer();
+        return PROGRAMMING_ANSWER_TEMPLATE.render(questionId, jobRoleId, experience, jobApplicationId, screeningTestId);
+    }
 
-        ProgrammingPayload payload = ProgrammingPayload.builder()
+    private static ProgrammingPayload buildPayload(String questionId, String jobRoleId, String experience,
+                                                   String jobApplicationId, String screeningTestId,
+                                                   String candidateAnswer, TypingAnalysis typingAnalysis) {
+        return ProgrammingPayload.builder()
                 .questionId(questionId)
                 .type("programming")
                 .skill("api")
@@ -44,19 +77,16 @@ public class ProgrammingService extends BaseService {
                 .fullScreenExitCount(0)
                 .tabSwitchCount(0)
                 .candidateAnswer(candidateAnswer)
-                .typingAnalysis(buildTypingAnalysis())
+                .typingAnalysis(typingAnalysis)
                 .hasTypingAnalysis(true)
                 .screeningTestId(screeningTestId)
                 .programmingLanguageId(62)
                 .editorEvents(new ArrayList<>())
                 .retakes(1)
                 .build();
-
-        return JavaToJSON.convertToJSON(payload);
     }
 
-    @Step("Build typing analysis for programming answer")
-    private TypingAnalysis buildTypingAnalysis() {
+    private static TypingAnalysis buildTypingAnalysis() {
         return TypingAnalysis.builder()
                 .totalDuration(DEFAULT_DURATION)
                 .totalCharacters(6161)
@@ -82,7 +112,7 @@ public class ProgrammingService extends BaseService {
                 .build();
     }
 
-    private String getSampleProgrammingAnswer() {
+    private static String getSampleProgrammingAnswer() {
         return "import java.util.ArrayList;\n" +
                 "import java.util.Collections;\n" +
                 "import java.util.List;\n" +
@@ -1,6 +1,6 @@
 package services;
 
-import base.ScreeningControl;
+import base.ScreeningSession;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 
@@ -12,13 +12,22 @@ import java.util.Map;
  */
 public class ScreeningDetailsServices extends BaseService {
 
+    public ScreeningDetailsServices() {
+        super();
+    }
+
+    public ScreeningDetailsServices(ScreeningSession session) {
+        super(session);
+    }
+
     @Step("Get screening details for screening test ID: {screenTestID}")
     public Response getScreeningDetails(String screenTestID) {
+        resetRequestBuilder();
         setHeader("Accept", "application/json");
 
         Map<String, String> queryParams = new HashMap<>();
-        queryParams.put("candidateApplicationId", ScreeningControl.jobApplicationID);
-        queryParams.put("candidateScreeningId", ScreeningControl.candidateScreeningId);
+        queryParams.put("candidateApplicationId", session.getJobApplicationID());
+        queryParams.put("candidateScreeningId", session.getCandidateScreeningId());
         setQueryParams(queryParams);
 
         return executeGetAPI("/api/candidateScreening/get-screening-questions/" + screenTestID);
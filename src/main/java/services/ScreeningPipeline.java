@@ -0,0 +1,95 @@
+package services;
+
+import base.ScreeningSession;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Submits a whole {@link AnswerSheet} with independent steps overlapped.
+ * <p>
+ * Upload slots for the audio and video answers are taken up front (from {@link UploadSlotPool}
+ * when prefetching is on), and each media chain
+ * (upload, analyze, submit) runs while the subjective, programming and MCQ answers are being submitted.
+ * Only real dependencies are kept: a media file is uploaded once its slot exists and analyzed
+ * once it is uploaded. The video result needs only the file ID, so it is sent alongside the upload.
+ */
+public class ScreeningPipeline {
+
+    private final ScreeningSession session;
+    private final Executor executor;
+
+    public ScreeningPipeline(ScreeningSession session, Executor executor) {
+        this.session = session;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts every answer and completes once all of them have been submitted. The MCQ batch waits for
+     * its calls on the calling thread, so this returns once the MCQs are in; no executor thread ever
+     * waits on another task, and a bounded executor cannot deadlock.
+     *
+     * @return Submit response (update-candidate-result) per question ID; completes exceptionally
+     * when any answer failed
+     */
+    public CompletableFuture<Map<String, Response>> submit(AnswerSheet sheet) {
+        Map<String, Response> responses = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> answers = new ArrayList<>();
+        String experience = sheet.getExperience();
+
+        if (sheet.getAudioQuestionId() != null) {
+            AudioService audioService = new AudioService(session);
+            answers.add(async(() -> audioService.takeUploadSlot(MediaType.AUDIO))
+                    .thenApplyAsync(slot -> audioService.submitAudioAnswer(sheet.getAudioQuestionId(), experience,
+                            sheet.getAudioFilePath(), slot), executor)
+                    .thenAccept(response -> responses.put(sheet.getAudioQuestionId(), response)));
+        }
+
+        if (sheet.getVideoQuestionId() != null) {
+            VideoServices videoService = new VideoServices(session);
+            CompletableFuture<UploadSlot> videoSlot = async(() -> videoService.takeUploadSlot(MediaType.VIDEO));
+            answers.add(videoSlot.thenApplyAsync(slot -> videoService.submitVideoResult(sheet.getVideoQuestionId(),
+                            experience, slot.getFileId()), executor)
+                    .thenAccept(response -> responses.put(sheet.getVideoQuestionId(), response)));
+            answers.add(videoSlot.thenApplyAsync(slot -> videoService.uploadAndAnalyzeVideo(sheet.getVideoQuestionId(),
+                    experience, sheet.getVideoFilePath(), slot), executor));
+        }
+
+        if (sheet.getSubjectiveQuestionId() != null) {
+            SubjectiveService subjectiveService = new SubjectiveService(session);
+            answers.add(async(() -> subjectiveService.submitSubjectiveAnswer(sheet.getSubjectiveQuestionId(), experience,
+                    sheet.getSubjectiveAnswer(), sheet.getSubjectiveTypingAnalysis()))
+                    .thenAccept(response -> responses.put(sheet.getSubjectiveQuestionId(), response)));
+        }
+
+        if (sheet.getProgrammingQuestionId() != null) {
+            ProgrammingService programmingService = new ProgrammingService(session);
+            answers.add(async(() -> programmingService.submitProgrammingAnswer(sheet.getProgrammingQuestionId(), experience,
+                    sheet.getScreeningTestId(), sheet.getProgrammingAnswer(), sheet.getProgrammingTypingAnalysis()))
+                    .thenAccept(response -> responses.put(sheet.getProgrammingQuestionId(), response)));
+        }
+
+        if (!sheet.getMcqQuestionIds().isEmpty()) {
+            MCQService mcqService = new MCQService(session);
+            // the other answers are already running; the batch calls run on the executor
+            try {
+                responses.putAll(mcqService.submitMCQAnswers(sheet.mcqAnswers(), experience,
+                        sheet.getMcqCopyPasteAnalysis(), executor));
+            } catch (RuntimeException e) {
+                answers.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        return CompletableFuture.allOf(answers.toArray(new CompletableFuture[0])).thenApply(done -> responses);
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> step) {
+        return CompletableFuture.supplyAsync(step, executor);
+    }
+}
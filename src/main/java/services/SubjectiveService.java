@@ -1,6 +1,6 @@
 package services;
 
-import base.ScreeningControl;
+import base.ScreeningSession;
 import entity.common.CopyPasteCorrelations;
 import entity.common.FocusAnalysis;
 import entity.common.GlobalEventAnalysis;
@@ -11,6 +11,7 @@ import entity.subjectivePOJO.SubjectiveRootPayload;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import utility.JavaToJSON;
+import utility.PayloadTemplate;
 
 /**
  * Service for handling subjective answer submissions
@@ -19,30 +20,63 @@ public class SubjectiveService extends BaseService {
 
     private static final int DEFAULT_TIME_SPENT = 60;
     private static final int DEFAULT_DURATION = 54979;
+    private static final PayloadTemplate SUBJECTIVE_ANSWER_TEMPLATE = PayloadTemplate.compile(
+            buildPayload(PayloadTemplate.slot("questionId"), PayloadTemplate.slot("jobRoleId"),
+                    PayloadTemplate.slot("experience"), PayloadTemplate.slot("jobApplicationId"),
+                    PayloadTemplate.slot("candidateAnswer"), buildTypingAnalysis()),
+            "questionId", "jobRoleId", "experience", "jobApplicationId", "candidateAnswer");
+
+    public SubjectiveService() {
+        super();
+    }
+
+    public SubjectiveService(ScreeningSession session) {
+        super(session);
+    }
 
     @Step("Submit subjective answer for question ID: {questionId}")
     public Response submitSubjectiveAnswer(String questionId, String experience, String candidateAnswer) {
-        SubjectiveRootPayload payload = SubjectiveRootPayload.builder()
+        String jsonPayload = SUBJECTIVE_ANSWER_TEMPLATE.render(questionId, session.getJobRoleID(), experience,
+                session.getJobApplicationID(), candidateAnswer);
+        return updateCandidateResult(session.getCandidateScreeningId(), jsonPayload);
+    }
+
+    /**
+     * Submits the answer with the candidate's own typing analysis instead of the default one
+     *
+     * @param typingAnalysis Typing metrics of the answer; null uses the default analysis
+     */
+    @Step("Submit subjective answer for question ID: {questionId}")
+    public Response submitSubjectiveAnswer(String questionId, String experience, String candidateAnswer,
+                                           TypingAnalysis typingAnalysis) {
+        String jsonPayload = typingAnalysis == null
+                ? SUBJECTIVE_ANSWER_TEMPLATE.render(questionId, session.getJobRoleID(), experience,
+                        session.getJobApplicationID(), candidateAnswer)
+                : JavaToJSON.convertToJSON(buildPayload(questionId, session.getJobRoleID(), experience,
+                        session.getJobApplicationID(), candidateAnswer, typingAnalysis));
+        return updateCandidateResult(session.getCandidateScreeningId(), jsonPayload);
+    }
+
+    private static SubjectiveRootPayload buildPayload(String questionId, String jobRoleId, String experience,
+                                                      String jobApplicationId, String candidateAnswer,
+                                                      TypingAnalysis typingAnalysis) {
+        return SubjectiveRootPayload.builder()
                 .questionId(questionId)
                 .type("subjective")
                 .skill("api")
-                .jobRoleId(ScreeningControl.jobRoleID)
+                .jobRoleId(jobRoleId)
                 .experience(experience)
-                .jobApplicationId(ScreeningControl.jobApplicationID)
+                .jobApplicationId(jobApplicationId)
                 .timeSpent(DEFAULT_TIME_SPENT)
                 .fullScreenExitCount(0)
                 .tabSwitchCount(0)
                 .candidateAnswer(candidateAnswer)
-                .typingAnalysis(buildTypingAnalysis())
+                .typingAnalysis(typingAnalysis)
                 .hasTypingAnalysis(true)
                 .build();
-
-        String jsonPayload = JavaToJSON.convertToJSON(payload);
-        return updateCandidateResult(ScreeningControl.candidateScreeningId, jsonPayload);
     }
 
-    @Step("Build typing analysis for subjective answer")
-    private TypingAnalysis buildTypingAnalysis() {
+    private static TypingAnalysis buildTypingAnalysis() {
         return TypingAnalysis.builder()
                 .totalDuration(DEFAULT_DURATION)
                 .totalCharacters(103)
@@ -0,0 +1,62 @@
+package services;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A file ID and the pre-signed URL its content must be uploaded to, as returned by generate-upload-url
+ */
+@Builder
+@Getter
+public class UploadSlot {
+    private final String fileId;
+    private final String uploadUrl;
+    /**
+     * When the upload URL stops being accepted; null when unknown
+     */
+    private final Instant expiresAt;
+
+    /**
+     * True when the URL is still accepted for at least the given time
+     */
+    public boolean isValidFor(Duration remaining) {
+        return expiresAt == null || Instant.now().plus(remaining).isBefore(expiresAt);
+    }
+
+    /**
+     * Reads the signed expiry ({@code se}) of an Azure SAS URL
+     *
+     * @return The expiry, or null when the URL carries none or cannot be parsed
+     */
+    public static Instant sasExpiry(String uploadUrl) {
+        if (uploadUrl == null) {
+            return null;
+        }
+        String query;
+        try {
+            query = URI.create(uploadUrl).getRawQuery();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith("se=")) {
+                try {
+                    return Instant.parse(URLDecoder.decode(pair.substring(3), StandardCharsets.UTF_8));
+                } catch (DateTimeParseException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,151 @@
+package services;
+
+import base.ApplicationConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps ready-made upload slots per {@link MediaType} so media answers do not wait on generate-upload-url.
+ * <p>
+ * Every {@link #take(MediaType)} hands out a prefetched slot when one is still valid for
+ * {@code minValidity} and tops the pool back up in the background; when the pool is empty
+ * the caller generates its own slot, so the pool never adds latency. Slots whose SAS URL has
+ * no readable expiry are treated as valid for {@code defaultTtl} from creation. A periodic
+ * sweep drops slots that are about to expire and refills.
+ * <p>
+ * Configured through system properties:
+ * <ul>
+ *     <li>{@code upload.prefetch.size} - ready slots kept per media type (default 0, pool disabled)</li>
+ *     <li>{@code upload.prefetch.threads} - background generator threads (default 2)</li>
+ *     <li>{@code upload.prefetch.minValiditySeconds} - validity a slot must have left to be handed out (default 60)</li>
+ *     <li>{@code upload.prefetch.defaultTtlSeconds} - assumed lifetime when the URL has no expiry (default 600)</li>
+ * </ul>
+ */
+public class UploadSlotPool {
+
+    private static final long SWEEP_INTERVAL_SECONDS = 15;
+
+    private final int targetSize;
+    private final Duration minValidity;
+    private final Duration defaultTtl;
+    private final Function<MediaType, UploadSlot> generator;
+    private final ScheduledExecutorService executor;
+    private final Map<MediaType, ConcurrentLinkedQueue<UploadSlot>> ready = new EnumMap<>(MediaType.class);
+    private final Map<MediaType, AtomicInteger> inFlight = new EnumMap<>(MediaType.class);
+
+    public UploadSlotPool(int targetSize, int threads, Duration minValidity, Duration defaultTtl,
+                          Function<MediaType, UploadSlot> generator) {
+        if (targetSize <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Pool size and thread count must be positive");
+        }
+        this.targetSize = targetSize;
+        this.minValidity = minValidity;
+        this.defaultTtl = defaultTtl;
+        this.generator = generator;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "upload-slot-prefetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (MediaType type : MediaType.values()) {
+            ready.put(type, new ConcurrentLinkedQueue<>());
+            inFlight.put(type, new AtomicInteger());
+        }
+        executor.scheduleWithFixedDelay(this::sweep, 0, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Builds the pool from {@code upload.prefetch.*} properties
+     *
+     * @return The pool, or null when {@code upload.prefetch.size} is 0
+     */
+    public static UploadSlotPool fromSystemProperties(Function<MediaType, UploadSlot> generator) {
+        int size = ApplicationConfig.getIntProperty("upload.prefetch.size", 0);
+        if (size <= 0) {
+            return null;
+        }
+        return new UploadSlotPool(size,
+                ApplicationConfig.getIntProperty("upload.prefetch.threads", 2),
+                Duration.ofSeconds(ApplicationConfig.getLongProperty("upload.prefetch.minValiditySeconds", 60)),
+                Duration.ofSeconds(ApplicationConfig.getLongProperty("upload.prefetch.defaultTtlSeconds", 600)),
+                generator);
+    }
+
+    /**
+     * Returns a slot that is valid for at least the configured minimum, generating one inline
+     * only when none is ready
+     */
+    public UploadSlot take(MediaType type) {
+        ConcurrentLinkedQueue<UploadSlot> slots = ready.get(type);
+        UploadSlot slot;
+        while ((slot = slots.poll()) != null && !slot.isValidFor(minValidity)) {
+            // expired while waiting, drop it
+        }
+        refill(type);
+        return slot != null ? slot : generate(type);
+    }
+
+    /**
+     * Slots currently ready for the type
+     */
+    public int available(MediaType type) {
+        return ready.get(type).size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void refill(MediaType type) {
+        AtomicInteger pending = inFlight.get(type);
+        while (true) {
+            // reserve a generation only if the count it was checked against is still current,
+            // so concurrent refills never queue more than targetSize in total
+            int current = pending.get();
+            if (ready.get(type).size() + current >= targetSize) {
+                return;
+            }
+            if (!pending.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    ready.get(type).add(generate(type));
+                } catch (RuntimeException e) {
+                    System.out.println("Upload slot prefetch for " + type + " failed: " + e.getMessage());
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void sweep() {
+        for (MediaType type : MediaType.values()) {
+            ready.get(type).removeIf(slot -> !slot.isValidFor(minValidity));
+            refill(type);
+        }
+    }
+
+    private UploadSlot generate(MediaType type) {
+        UploadSlot slot = generator.apply(type);
+        if (slot.getExpiresAt() != null) {
+            return slot;
+        }
+        return UploadSlot.builder()
+                .fileId(slot.getFileId())
+                .uploadUrl(slot.getUploadUrl())
+                .expiresAt(Instant.now().plus(defaultTtl))
+                .build();
+    }
+}
@@ -1,13 +1,12 @@
 package services;
 
-import base.ScreeningControl;
-import entity.common.CopyPasteAnalysis;
-import entity.common.FileGeneratorPayload;
+import base.ScreeningSession;
 import entity.videoPOJO.VideoAnswerAnalysisPayload;
 import entity.videoPOJO.VideoAnswerPayload;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
-import utility.JavaToJSON;
+import org.testng.Assert;
+import utility.PayloadTemplate;
 
 /**
  * Service for handling video answer submissions
@@ -16,74 +15,103 @@ public class VideoServices extends BaseService {
 
     private static final int DEFAULT_DURATION = 53958;
     private static final int DEFAULT_TIME_SPENT = 33;
+    private static final PayloadTemplate VIDEO_ANSWER_TEMPLATE = PayloadTemplate.compile(VideoAnswerPayload.builder()
+                    .questionId(PayloadTemplate.slot("questionId"))
+                    .type("video")
+                    .skill("api")
+                    .jobRoleId(PayloadTemplate.slot("jobRoleId"))
+                    .experience(PayloadTemplate.slot("experience"))
+                    .jobApplicationId(PayloadTemplate.slot("jobApplicationId"))
+                    .timeSpent(DEFAULT_TIME_SPENT)
+                    .fullScreenExitCount(0)
+                    .tabSwitchCount(0)
+                    .candidateAnswer(null)
+                    .copyPasteAnalysis(copyPasteAnalysisTemplate(DEFAULT_DURATION))
+                    .hasCopyPasteAnalysis(true)
+                    .answerVideoFileId(PayloadTemplate.slot("answerVideoFileId"))
+                    .retakes(0)
+                    .build(),
+            "questionId", "jobRoleId", "experience", "jobApplicationId", "answerVideoFileId", "copyPasteSessionId", "timestamp");
+    private static final PayloadTemplate VIDEO_ANALYSIS_TEMPLATE = PayloadTemplate.compile(VideoAnswerAnalysisPayload.builder()
+                    .fileId(PayloadTemplate.slot("fileId"))
+                    .question(PayloadTemplate.slot("question"))
+                    .questionId(PayloadTemplate.slot("questionId"))
+                    .candidateScreeningId(PayloadTemplate.slot("candidateScreeningId"))
+                    .candidateApplicationId(PayloadTemplate.slot("candidateApplicationId"))
+                    .skillName(PayloadTemplate.slot("skillName"))
+                    .type("video")
+                    .jobRoleId(PayloadTemplate.slot("jobRoleId"))
+                    .maxTime(PayloadTemplate.slot("maxTime"))
+                    .experience(PayloadTemplate.slot("experience"))
+                    .copyPasteAnalysis(copyPasteAnalysisTemplate(53779))
+                    .hasCopyPasteAnalysis(true)
+                    .fullScreenExitCount(0)
+                    .tabSwitchCount(0)
+                    .build(),
+            "fileId", "question", "questionId", "candidateScreeningId", "candidateApplicationId", "skillName", "jobRoleId",
+            "maxTime", "experience", "copyPasteSessionId", "timestamp");
+
+    public VideoServices() {
+        super();
+    }
+
+    public VideoServices(ScreeningSession session) {
+        super(session);
+    }
 
     @Step("Submit video answer for question ID: {questionId}")
     public Response submitVideoAnswer(String questionId, String experience, String filePath) {
-        // Generate upload URL and get file ID
-        Response videoFileResponse = generateUploadUrl(FileGeneratorPayload.forVideo());
-        String videoFileID = extractFileId(videoFileResponse);
-        String videoFileUploadURL = extractUploadUrl(videoFileResponse);
+        return submitVideoAnswer(questionId, experience, filePath, takeUploadSlot(MediaType.VIDEO));
+    }
 
-        // Submit video answer
-        String payload = buildVideoAnswerPayload(questionId, ScreeningControl.jobRoleID, experience,
-                ScreeningControl.jobApplicationID, videoFileID);
-        Response videoAnswerResponse = updateCandidateResult(ScreeningControl.candidateScreeningId, payload);
+    /**
+     * Submits the answer, then uploads and analyzes the video, using an upload slot requested beforehand
+     */
+    @Step("Submit video answer for question ID: {questionId} using file ID: {uploadSlot.fileId}")
+    public Response submitVideoAnswer(String questionId, String experience, String filePath, UploadSlot uploadSlot) {
+        Response videoAnswerResponse = submitVideoResult(questionId, experience, uploadSlot.getFileId());
+        uploadAndAnalyzeVideo(questionId, experience, filePath, uploadSlot);
+        return videoAnswerResponse;
+    }
 
-        // Upload video file to Azure
-        uploadFileToAzure(videoFileUploadURL, filePath);
+    /**
+     * Records the answer against its file ID; it does not depend on the upload having finished
+     */
+    @Step("Submit video result for question ID: {questionId}")
+    public Response submitVideoResult(String questionId, String experience, String videoFileId) {
+        String payload = buildVideoAnswerPayload(questionId, session.getJobRoleID(), experience,
+                session.getJobApplicationID(), videoFileId);
+        return updateCandidateResult(session.getCandidateScreeningId(), payload);
+    }
 
-        // Analyze video response
-        String question = "<p>can you tell me all the HTTP methods in details like what exactly the method will work and when to use which methods</p>";
-        Response response = analyzeVideoResponse(videoFileID, question, questionId, "api", "3", experience);
-        System.out.println(response.statusCode());
+    /**
+     * Uploads the video to its slot and asks the backend to analyze it
+     *
+     * @return Response of analyze-response-uri
+     */
+    @Step("Upload and analyze video for question ID: {questionId}")
+    public Response uploadAndAnalyzeVideo(String questionId, String experience, String filePath, UploadSlot uploadSlot) {
+        uploadFileToAzure(uploadSlot.getUploadUrl(), filePath);
 
-        return videoAnswerResponse;
+        String question = "<p>can you tell me all the HTTP methods in details like what exactly the method will work and when to use which methods</p>";
+        Response response = analyzeVideoResponse(uploadSlot.getFileId(), question, questionId, "api", "3", experience);
+        Assert.assertEquals(200, response.statusCode(), "Expected HTTP 200 for Video Analyze Response URI");
+        return response;
     }
 
     @Step("Build video answer payload for question ID: {questionId}")
     private String buildVideoAnswerPayload(String questionId, String jobRoleId, String experience,
                                            String jobApplicationId, String answerVideoFileId) {
-        VideoAnswerPayload payload = VideoAnswerPayload.builder()
-                .questionId(questionId)
-                .type("video")
-                .skill("api")
-                .jobRoleId(jobRoleId)
-                .experience(experience)
-                .jobApplicationId(jobApplicationId)
-                .timeSpent(DEFAULT_TIME_SPENT)
-                .fullScreenExitCount(0)
-                .tabSwitchCount(0)
-                .candidateAnswer(null)
-                .copyPasteAnalysis(CopyPasteAnalysis.createDefault(DEFAULT_DURATION))
-                .hasCopyPasteAnalysis(true)
-                .answerVideoFileId(answerVideoFileId)
-                .retakes(0)
-                .build();
-
-        return JavaToJSON.convertToJSON(payload);
+        return VIDEO_ANSWER_TEMPLATE.render(questionId, jobRoleId, experience, jobApplicationId, answerVideoFileId,
+                newCopyPasteSessionId(), newTimestamp());
     }
 
     @Step("Analyze video response for question ID: {questionId}")
     private Response analyzeVideoResponse(String fileId, String question, String questionId,
                                           String skillName, String maxTime, String experience) {
-        VideoAnswerAnalysisPayload payload = VideoAnswerAnalysisPayload.builder()
-                .fileId(fileId)
-                .question(question)
-                .questionId(questionId)
-                .candidateScreeningId(ScreeningControl.candidateScreeningId)
-                .candidateApplicationId(ScreeningControl.jobApplicationID)
-                .skillName(skillName)
-                .type("video")
-                .jobRoleId(ScreeningControl.jobRoleID)
-                .maxTime(maxTime)
-                .experience(experience)
-                .copyPasteAnalysis(CopyPasteAnalysis.createDefault(53779))
-                .hasCopyPasteAnalysis(true)
-                .fullScreenExitCount(0)
-                .tabSwitchCount(0)
-                .build();
-
-        String jsonPayload = JavaToJSON.convertToJSON(payload);
+        String jsonPayload = VIDEO_ANALYSIS_TEMPLATE.render(fileId, question, questionId, session.getCandidateScreeningId(),
+                session.getJobApplicationID(), skillName, session.getJobRoleID(), maxTime, experience,
+                newCopyPasteSessionId(), newTimestamp());
         return analyzeResponseUri(jsonPayload);
     }
 
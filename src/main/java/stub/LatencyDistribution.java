@@ -0,0 +1,97 @@
+package stub;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Artificial response delay of a stub endpoint, parsed from a spec such as {@code lognormal(40,0.5)}.
+ * <p>
+ * Supported specs, all values in milliseconds:
+ * <ul>
+ *     <li>{@code none} or {@code 0} - no delay</li>
+ *     <li>{@code fixed(ms)} - always the same delay</li>
+ *     <li>{@code uniform(min,max)} - evenly spread between min and max</li>
+ *     <li>{@code normal(mean,stdDev)} - bell curve, cut at 0</li>
+ *     <li>{@code exponential(mean)} - mostly short with occasional long delays</li>
+ *     <li>{@code lognormal(median,sigma)} - long-tailed, the usual shape of real service latency</li>
+ * </ul>
+ */
+public final class LatencyDistribution {
+
+    public static final LatencyDistribution NONE = new LatencyDistribution("none", Shape.FIXED, 0, 0);
+
+    private enum Shape {FIXED, UNIFORM, NORMAL, EXPONENTIAL, LOGNORMAL}
+
+    private final String spec;
+    private final Shape shape;
+    private final double first;
+    private final double second;
+
+    private LatencyDistribution(String spec, Shape shape, double first, double second) {
+        this.spec = spec;
+        this.shape = shape;
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the spec is not one of the supported forms
+     */
+    public static LatencyDistribution parse(String spec) {
+        String text = spec.trim().toLowerCase(Locale.ROOT);
+        if (text.isEmpty() || text.equals("none") || text.equals("0")) {
+            return NONE;
+        }
+        int open = text.indexOf('(');
+        if (open < 0 || !text.endsWith(")")) {
+            throw new IllegalArgumentException("Latency spec must look like name(args): " + spec);
+        }
+        Shape shape;
+        try {
+            shape = Shape.valueOf(text.substring(0, open).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown latency distribution: " + spec, e);
+        }
+        String[] args = text.substring(open + 1, text.length() - 1).split(",");
+        int expected = shape == Shape.FIXED || shape == Shape.EXPONENTIAL ? 1 : 2;
+        if (args.length != expected) {
+            throw new IllegalArgumentException(shape + " takes " + expected + " argument(s): " + spec);
+        }
+        double first = Double.parseDouble(args[0].trim());
+        double second = expected == 2 ? Double.parseDouble(args[1].trim()) : 0;
+        if (first < 0 || second < 0 || (shape == Shape.UNIFORM && second < first)) {
+            throw new IllegalArgumentException("Invalid latency bounds: " + spec);
+        }
+        return new LatencyDistribution(spec.trim(), shape, first, second);
+    }
+
+    /**
+     * Draws one delay
+     */
+    public long sampleNanos() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis;
+        switch (shape) {
+            case UNIFORM:
+                millis = first + random.nextDouble() * (second - first);
+                break;
+            case NORMAL:
+                millis = first + random.nextGaussian() * second;
+                break;
+            case EXPONENTIAL:
+                millis = -first * Math.log(1 - random.nextDouble());
+                break;
+            case LOGNORMAL:
+                millis = first * Math.exp(random.nextGaussian() * second);
+                break;
+            default:
+                millis = first;
+        }
+        return millis <= 0 ? 0 : (long) (millis * 1_000_000);
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,23 @@
+package stub;
+
+/**
+ * Endpoints served by {@link StubServer}; the key names their {@code stub.*} properties
+ */
+public enum StubEndpoint {
+    GET_SCREENING_QUESTIONS("getScreeningQuestions"),
+    GENERATE_UPLOAD_URL("generateUploadUrl"),
+    UPDATE_CANDIDATE_RESULT("updateCandidateResult"),
+    ANALYZE_RESPONSE_URI("analyzeResponseUri"),
+    BLOB_PUT("blobPut"),
+    LOGIN("login");
+
+    private final String key;
+
+    StubEndpoint(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,387 @@
+package stub;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import loadgen.ThreadMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-process stand-in for the candidateScreening API and Azure blob storage, for perf runs
+ * without network or backend noise.
+ * <p>
+ * Selected with {@code -Denvironment=stub}: {@link StubServerListener} starts it before the suite
+ * on the host and port of the {@code stub} entry in envConfig.properties (18089). It can also run on its own
+ * with {@code java -cp ... stub.StubServer [port]}, by default on 8089, the port of the {@code local}
+ * environment; the two ports differ so a standalone stub and an embedded one can run side by side.
+ * <p>
+ * Bodies are drained but never stored and every response is small, so the stub adds
+ * little beyond the configured delay. Configured through
+ * system properties or the framework config file, re-read on config reload:
+ * <ul>
+ *     <li>{@code stub.latency} - {@link LatencyDistribution} of every endpoint (default none)</li>
+ *     <li>{@code stub.latency.<endpoint>} - override per {@link StubEndpoint} key, e.g. {@code stub.latency.blobPut}</li>
+ *     <li>{@code stub.errorRate} - share of calls answered with {@code stub.errorStatus} (default 0)</li>
+ *     <li>{@code stub.errorRate.<endpoint>} - override per endpoint</li>
+ *     <li>{@code stub.errorStatus} - status of injected failures (default 503)</li>
+ *     <li>{@code stub.mcqCount} - MCQs in the screening questions (default 1)</li>
+ *     <li>{@code stub.tokenTtlSeconds} - lifetime of the tokens handed out by {@code /api/auth/login} (default 3600)</li>
+ *     <li>{@code stub.threadMode} - {@link ThreadMode} of request threads (default PLATFORM)</li>
+ *     <li>{@code stub.maxThreads} - most platform request threads, further requests queue (default 256)</li>
+ * </ul>
+ * Injected failures happen after the delay, like a backend that times out internally.
+ */
+public final class StubServer {
+
+    public static final String ENVIRONMENT = "stub";
+
+    private static final String API_PREFIX = "/api/candidateScreening/";
+    private static final String BLOB_PREFIX = "/blob/";
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final long UPLOAD_URL_TTL_SECONDS = 3600;
+    // port of the local environment in envConfig.properties
+    private static final int LOCAL_PORT = 8089;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = MAPPER.getFactory();
+    private static final byte[] NOT_FOUND = "{\"success\":false,\"message\":\"Not found\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INJECTED_FAILURE = "{\"success\":false,\"message\":\"Injected failure\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static StubServer embedded;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String baseUri;
+    private final AtomicLong fileIds = new AtomicLong();
+    private final AtomicLong tokenIds = new AtomicLong();
+    private final Map<StubEndpoint, LongAdder> requests = new EnumMap<>(StubEndpoint.class);
+    private final byte[] questions;
+    private volatile Settings settings;
+
+    private StubServer(String host, int port, Function<String, String> properties) throws IOException {
+        // read once by the JDK server when the first HttpServer is created; without it small
+        // responses can wait on Nagle's algorithm
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.settings = new Settings(properties);
+        this.questions = screeningQuestions(Integer.parseInt(lookup(properties, "stub.mcqCount", "1")));
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 1024);
+        this.baseUri = "http://" + host + ":" + server.getAddress().getPort();
+        this.executor = ThreadMode.valueOf(lookup(properties, "stub.threadMode", ThreadMode.PLATFORM.name())
+                .toUpperCase(Locale.ROOT)).newExecutor("stub-", Integer.parseInt(lookup(properties, "stub.maxThreads", "256")));
+        for (StubEndpoint endpoint : StubEndpoint.values()) {
+            requests.put(endpoint, new LongAdder());
+        }
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts the shared stub for the given base URI, or applies new settings when it is already running
+     *
+     * @param properties Looks up {@code stub.*} values, e.g. {@code FrameworkConfig::getProperty}
+     * @return The running stub
+     */
+    public static synchronized StubServer ensureRunning(URI baseUri, Function<String, String> properties) {
+        if (embedded != null) {
+            embedded.configure(properties);
+            return embedded;
+        }
+        embedded = start(baseUri.getHost(), baseUri.getPort(), properties, true);
+        System.out.println("Started embedded stub server on " + embedded.getBaseUri() + " " + embedded.settings);
+        return embedded;
+    }
+
+    /**
+     * Starts a stub on the port, 0 for any free one
+     *
+     * @param daemon Whether the server may be left running when the JVM exits
+     */
+    public static StubServer start(String host, int port, Function<String, String> properties, boolean daemon) {
+        StubServer[] started = new StubServer[1];
+        RuntimeException[] failure = new RuntimeException[1];
+        // the HTTP dispatcher thread inherits the daemon flag of the thread that starts it
+        Thread starter = new Thread(() -> {
+            try {
+                started[0] = new StubServer(host, port, properties);
+                started[0].server.start();
+            } catch (IOException e) {
+                failure[0] = new UncheckedIOException("Failed to start stub server on " + host + ":" + port + ": " + e.getMessage(), e);
+            }
+        }, "stub-starter");
+        starter.setDaemon(daemon);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting the stub server", e);
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return started[0];
+    }
+
+    /**
+     * Runs a standalone stub, by default on the port of the {@code local} environment
+     */
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : LOCAL_PORT;
+        StubServer stub = start("localhost", port, System::getProperty, false);
+        System.out.println("Stub server listening on " + stub.getBaseUri() + " " + stub.settings);
+    }
+
+    /**
+     * Re-reads latency and error settings; the question set and thread mode stay as started
+     */
+    public void configure(Function<String, String> properties) {
+        settings = new Settings(properties);
+    }
+
+    public String getBaseUri() {
+        return baseUri;
+    }
+
+    public long getRequestCount(StubEndpoint endpoint) {
+        return requests.get(endpoint).sum();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            StubEndpoint endpoint = route(method, path);
+            if (endpoint == null) {
+                exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                respond(exchange, 404, NOT_FOUND);
+                return;
+            }
+            requests.get(endpoint).increment();
+            Settings current = settings;
+            byte[] body;
+            switch (endpoint) {
+                case GET_SCREENING_QUESTIONS:
+                    body = questions;
+                    break;
+                case GENERATE_UPLOAD_URL:
+                    exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                    body = uploadSlot();
+                    break;
+                case BLOB_PUT:
+                    exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                    body = null;
+                    break;
+                case LOGIN:
+                    exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                    body = token(current.tokenTtlSeconds);
+                    break;
+                default:
+                    body = answerAccepted(exchange.getRequestBody());
+            }
+
+            delay(current.latency.get(endpoint));
+            if (ThreadLocalRandom.current().nextDouble() < current.errorRate.get(endpoint)) {
+                respond(exchange, current.errorStatus, INJECTED_FAILURE);
+            } else {
+                respond(exchange, endpoint == StubEndpoint.BLOB_PUT ? 201 : 200, body);
+            }
+        }
+    }
+
+    private static StubEndpoint route(String method, String path) {
+        if (path.startsWith(BLOB_PREFIX)) {
+            return "PUT".equals(method) ? StubEndpoint.BLOB_PUT : null;
+        }
+        if (path.equals(LOGIN_PATH)) {
+            return "POST".equals(method) ? StubEndpoint.LOGIN : null;
+        }
+        if (!path.startsWith(API_PREFIX)) {
+            return null;
+        }
+        String action = path.substring(API_PREFIX.length());
+        if ("GET".equals(method) && action.startsWith("get-screening-questions/")) {
+            return StubEndpoint.GET_SCREENING_QUESTIONS;
+        }
+        if ("POST".equals(method) && action.equals("generate-upload-url")) {
+            return StubEndpoint.GENERATE_UPLOAD_URL;
+        }
+        if ("PATCH".equals(method) && action.startsWith("update-candidate-result/")) {
+            return StubEndpoint.UPDATE_CANDIDATE_RESULT;
+        }
+        if ("POST".equals(method) && action.equals("analyze-response-uri")) {
+            return StubEndpoint.ANALYZE_RESPONSE_URI;
+        }
+        return null;
+    }
+
+    private byte[] uploadSlot() throws IOException {
+        String fileId = "stub-file-" + fileIds.incrementAndGet();
+        String expiry = Instant.now().plusSeconds(UPLOAD_URL_TTL_SECONDS).truncatedTo(ChronoUnit.SECONDS).toString();
+        Map<String, Object> azureUpload = new LinkedHashMap<>();
+        azureUpload.put("uploadUrl", baseUri + BLOB_PREFIX + "answers/" + fileId + ".webm?sv=2022-11-02&se="
+                + URLEncoder.encode(expiry, StandardCharsets.UTF_8) + "&sr=b&sp=cw&sig=stub");
+        Map<String, Object> slot = new LinkedHashMap<>();
+        slot.put("fileId", fileId);
+        slot.put("azureUpload", azureUpload);
+        return MAPPER.writeValueAsBytes(slot);
+    }
+
+    private byte[] token(long ttlSeconds) throws IOException {
+        Map<String, Object> token = new LinkedHashMap<>();
+        token.put("token", "stub-token-" + tokenIds.incrementAndGet());
+        token.put("expiresIn", ttlSeconds);
+        return MAPPER.writeValueAsBytes(token);
+    }
+
+    /**
+     * Echoes the answer's top-level questionId and type, reading the body as a stream
+     * and skipping the nested analysis objects; closing the parser drains the rest
+     */
+    private static byte[] answerAccepted(InputStream requestBody) throws IOException {
+        String questionId = null;
+        String type = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(requestBody)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if ("questionId".equals(field) && value == JsonToken.VALUE_STRING) {
+                        questionId = parser.getText();
+                    } else if ("type".equals(field) && value == JsonToken.VALUE_STRING) {
+                        type = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        Map<String, Object> accepted = new LinkedHashMap<>();
+        accepted.put("success", true);
+        accepted.put("message", "Answer submitted successfully");
+        accepted.put("questionId", questionId == null ? "" : questionId);
+        accepted.put("type", type == null ? "" : type);
+        accepted.put("timestamp", Instant.now().toString());
+        accepted.put("analysisStatus", "pending");
+        return MAPPER.writeValueAsBytes(accepted);
+    }
+
+    private static void delay(LatencyDistribution latency) {
+        long nanos = latency.sampleNanos();
+        if (nanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * One section per question type, in the shape the real endpoint returns
+     */
+    private static byte[] screeningQuestions(int mcqCount) {
+        ArrayNode sections = MAPPER.createArrayNode();
+        ArrayNode mcqs = sections.addObject().putArray("mcq");
+        for (int i = 0; i < mcqCount; i++) {
+            ObjectNode mcq = question(mcqs, 0x1000 + i, "mcq", "<p>Which exception is thrown when a JWT signature does not match?</p>");
+            ArrayNode options = mcq.putArray("options");
+            for (String option : new String[]{"SignatureException", "MalformedJwtException", "ExpiredJwtException", "UnsupportedJwtException"}) {
+                options.addObject().put("text", option);
+            }
+        }
+        question(sections.addObject().putArray("audio"), 0x2000, "audio", "<p>Which status code is returned when a payment is accepted but not yet processed?</p>");
+        question(sections.addObject().putArray("video"), 0x3000, "video", "<p>Explain the HTTP methods and when to use each one.</p>");
+        question(sections.addObject().putArray("subjective"), 0x4000, "subjective", "<p>Why is API testing preferred over UI testing for regression suites?</p>");
+        question(sections.addObject().putArray("programming"), 0x5000, "programming", "<p>Print the names of patients older than a minimum age, sorted by age.</p>");
+        try {
+            return MAPPER.writeValueAsBytes(sections);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ObjectNode question(ArrayNode section, int id, String type, String text) {
+        return section.addObject()
+                .put("_id", String.format("692d3aee3d9838750c2d%04x", id))
+                .put("question", text)
+                .put("skill", "api")
+                .put("type", type)
+                .put("maxTime", "3");
+    }
+
+    private static String lookup(Function<String, String> properties, String name, String defaultValue) {
+        String value = properties.apply(name);
+        return value == null || value.isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Behaviour read from properties, swapped as a whole on {@link #configure}
+     */
+    private static final class Settings {
+        private final Map<StubEndpoint, LatencyDistribution> latency = new EnumMap<>(StubEndpoint.class);
+        private final Map<StubEndpoint, Double> errorRate = new EnumMap<>(StubEndpoint.class);
+        private final int errorStatus;
+        private final long tokenTtlSeconds;
+        private final String description;
+
+        private Settings(Function<String, String> properties) {
+            String defaultLatency = lookup(properties, "stub.latency", "none");
+            String defaultErrorRate = lookup(properties, "stub.errorRate", "0");
+            for (StubEndpoint endpoint : StubEndpoint.values()) {
+                latency.put(endpoint, LatencyDistribution.parse(
+                        lookup(properties, "stub.latency." + endpoint.getKey(), defaultLatency)));
+                errorRate.put(endpoint, Double.parseDouble(
+                        lookup(properties, "stub.errorRate." + endpoint.getKey(), defaultErrorRate)));
+            }
+            this.errorStatus = Integer.parseInt(lookup(properties, "stub.errorStatus", "503"));
+            this.tokenTtlSeconds = Long.parseLong(lookup(properties, "stub.tokenTtlSeconds", "3600"));
+            this.description = "(latency " + defaultLatency + ", error rate " + defaultErrorRate + ")";
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package stub;
+
+import base.FrameworkConfig;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.net.URI;
+
+/**
+ * Starts the embedded {@link StubServer} before a suite runs against the {@value StubServer#ENVIRONMENT}
+ * environment, and hands it new {@code stub.*} settings whenever the config is reloaded
+ */
+public class StubServerListener implements ISuiteListener {
+
+    static {
+        FrameworkConfig.addReloadListener(StubServerListener::ensureRunning);
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        ensureRunning(FrameworkConfig.current());
+    }
+
+    private static void ensureRunning(FrameworkConfig config) {
+        if (StubServer.ENVIRONMENT.equals(config.getEnvironment())) {
+            StubServer.ensureRunning(URI.create(config.getBaseUri()), config::getProperty);
+        }
+    }
+}
@@ -1,18 +1,91 @@
 package utility;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import entity.audioPOJO.AudioAnswerPayload;
+import entity.audioPOJO.AudioSubmitAnswerPayload;
+import entity.common.FileGeneratorPayload;
+import entity.mcqPOJO.MCQRootPayload;
+import entity.programmingPOJO.ProgrammingPayload;
+import entity.subjectivePOJO.SubjectiveRootPayload;
+import entity.videoPOJO.VideoAnswerAnalysisPayload;
+import entity.videoPOJO.VideoAnswerPayload;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Serializes payloads to JSON through one shared, thread-safe {@link ObjectMapper}.
+ * <p>
+ * An {@link ObjectWriter} is created once per payload type and keeps its resolved
+ * serializer, so repeated calls skip Jackson's introspection. Output is compact;
+ * {@link #convertToPrettyJSON(Object)} is kept for debugging.
+ */
 public class JavaToJSON {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return MAPPER.writerFor(type);
+        }
+    };
+
+    static {
+        warmUp(MCQRootPayload.class, SubjectiveRootPayload.class, ProgrammingPayload.class,
+                AudioAnswerPayload.class, AudioSubmitAnswerPayload.class,
+                VideoAnswerPayload.class, VideoAnswerAnalysisPayload.class, FileGeneratorPayload.class);
+    }
+
+    /**
+     * Resolves and caches the writers for the given types ahead of the first request
+     */
+    public static void warmUp(Class<?>... types) {
+        for (Class<?> type : types) {
+            WRITERS.get(type);
+        }
+    }
 
     public static String convertToJSON(Object obj) {
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
+            return writerFor(obj).writeValueAsString(obj);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    public static String convertToPrettyJSON(Object obj) {
+        try {
+            return writerFor(obj).withDefaultPrettyPrinter().writeValueAsString(obj);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Serializes straight to UTF-8 bytes, skipping the intermediate String
+     */
+    public static byte[] convertToJSONBytes(Object obj) {
+        try {
+            return writerFor(obj).writeValueAsBytes(obj);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize " + obj.getClass().getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serializes straight into the given stream; the stream is left open
+     */
+    public static void writeJSON(Object obj, OutputStream outputStream) throws IOException {
+        writerFor(obj).writeValue(outputStream, obj);
+    }
+
+    private static ObjectWriter writerFor(Object obj) {
+        return obj == null ? MAPPER.writer() : WRITERS.get(obj.getClass());
+    }
+
 }
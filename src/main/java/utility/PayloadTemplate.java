@@ -0,0 +1,192 @@
+package utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A payload serialized once, with only its varying string fields filled in per request.
+ * <p>
+ * {@link #compile(Object, String...)} serializes a sample payload whose varying fields hold
+ * {@link #slot(String)} markers and splits the JSON around them. {@link #render(String...)}
+ * then writes the constant segments and the escaped values into a builder sized for them up front,
+ * so building an answer payload costs one String instead of a full object graph and a Jackson pass.
+ * <p>
+ * Only string fields can be slots. A null value leaves its field out, as Jackson does for the
+ * {@code @JsonInclude(NON_NULL)} payloads; in an array it renders as JSON {@code null}.
+ */
+public final class PayloadTemplate {
+
+    private static final String SLOT_PREFIX = "\"{{";
+    private static final String SLOT_SUFFIX = "}}\"";
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String[] segments;
+    private final int[] slotIndexes;
+    // length of the "name": ahead of each slot, 0 for an array element
+    private final int[] fieldNameLengths;
+    private final int slotCount;
+    private final int segmentsLength;
+
+    private PayloadTemplate(String[] segments, int[] slotIndexes, int[] fieldNameLengths, int slotCount) {
+        this.segments = segments;
+        this.slotIndexes = slotIndexes;
+        this.fieldNameLengths = fieldNameLengths;
+        this.slotCount = slotCount;
+        this.segmentsLength = Arrays.stream(segments).mapToInt(String::length).sum();
+    }
+
+    /**
+     * Marker to put in a sample payload field that varies per request
+     */
+    public static String slot(String name) {
+        return "{{" + name + "}}";
+    }
+
+    /**
+     * Serializes the sample and splits it around its slot markers
+     *
+     * @param sample    Payload with {@link #slot(String)} markers in its varying fields
+     * @param slotNames Names of the slots, in the order {@link #render(String...)} takes their values
+     * @throws IllegalArgumentException when a declared slot is missing from the sample or an undeclared one is found
+     */
+    public static PayloadTemplate compile(Object sample, String... slotNames) {
+        String json = JavaToJSON.convertToJSON(sample);
+        if (json == null) {
+            throw new IllegalArgumentException("Failed to serialize template " + sample.getClass().getSimpleName());
+        }
+        List<String> names = Arrays.asList(slotNames);
+        List<String> segments = new ArrayList<>();
+        List<Integer> slotIndexes = new ArrayList<>();
+        List<Integer> fieldNameLengths = new ArrayList<>();
+        boolean[] used = new boolean[slotNames.length];
+        int position = 0;
+        int start;
+        while ((start = json.indexOf(SLOT_PREFIX, position)) >= 0) {
+            int end = json.indexOf(SLOT_SUFFIX, start);
+            String name = json.substring(start + SLOT_PREFIX.length(), end);
+            int index = names.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Slot '" + name + "' in " + sample.getClass().getSimpleName() + " is not declared");
+            }
+            used[index] = true;
+            segments.add(json.substring(position, start));
+            slotIndexes.add(index);
+            fieldNameLengths.add(fieldNameLength(json, start));
+            position = end + SLOT_SUFFIX.length();
+        }
+        segments.add(json.substring(position));
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) {
+                throw new IllegalArgumentException("Slot '" + slotNames[i] + "' not found in " + sample.getClass().getSimpleName());
+            }
+        }
+        return new PayloadTemplate(segments.toArray(new String[0]),
+                slotIndexes.stream().mapToInt(Integer::intValue).toArray(),
+                fieldNameLengths.stream().mapToInt(Integer::intValue).toArray(), slotNames.length);
+    }
+
+    /**
+     * Length of the {@code "name":} that ends right before the value at valueStart, or 0 when the
+     * value is not an object field
+     */
+    private static int fieldNameLength(String json, int valueStart) {
+        if (valueStart < 2 || json.charAt(valueStart - 1) != ':' || json.charAt(valueStart - 2) != '"') {
+            return 0;
+        }
+        int quote = valueStart - 2;
+        do {
+            quote = json.lastIndexOf('"', quote - 1);
+        } while (quote > 0 && json.charAt(quote - 1) == '\\');
+        return valueStart - quote;
+    }
+
+    /**
+     * Builds the payload JSON
+     *
+     * @param values One value per slot, in the order the slots were declared
+     */
+    public String render(String... values) {
+        if (values.length != slotCount) {
+            throw new IllegalArgumentException("Expected " + slotCount + " slot values, got " + values.length);
+        }
+        // quotes around each value; escapes may still grow the builder
+        int capacity = segmentsLength;
+        for (int slotIndex : slotIndexes) {
+            String value = values[slotIndex];
+            capacity += value == null ? 4 : value.length() + 2;
+        }
+        StringBuilder json = new StringBuilder(capacity);
+        boolean skipComma = false;
+        for (int i = 0; i < slotIndexes.length; i++) {
+            appendSegment(json, segments[i], skipComma);
+            skipComma = false;
+            String value = values[slotIndexes[i]];
+            if (value == null && fieldNameLengths[i] > 0) {
+                // drop the field and one of the commas around it
+                json.setLength(json.length() - fieldNameLengths[i]);
+                if (json.charAt(json.length() - 1) == ',') {
+                    json.setLength(json.length() - 1);
+                } else {
+                    skipComma = true;
+                }
+            } else {
+                appendValue(json, value);
+            }
+        }
+        appendSegment(json, segments[segments.length - 1], skipComma);
+        return json.toString();
+    }
+
+    private static void appendSegment(StringBuilder json, String segment, boolean skipComma) {
+        if (skipComma && !segment.isEmpty() && segment.charAt(0) == ',') {
+            json.append(segment, 1, segment.length());
+        } else {
+            json.append(segment);
+        }
+    }
+
+    /**
+     * Appends the value as a JSON string, escaped the way Jackson escapes it
+     */
+    private static void appendValue(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\b':
+                    json.append("\\b");
+                    break;
+                case '\f':
+                    json.append("\\f");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -2,9 +2,10 @@ package utility;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
@@ -17,43 +18,39 @@ import java.util.logging.Logger;
 public final class PropertyUtil {
 
     private static final Logger LOGGER = Logger.getLogger(PropertyUtil.class.getName());
-    private Properties properties;
+    private static final ConcurrentMap<String, Properties> CACHE = new ConcurrentHashMap<>();
+    private final Properties properties;
 
     public PropertyUtil(String filePath) {
-        File file = new File(filePath);
-        try {
-            FileInputStream fileInputStream = new FileInputStream(file);//Read
-            properties = new Properties();
-            try {
-                properties.load(fileInputStream);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        properties = load(filePath);
     }
 
     public String getProperty(String key) {
         return properties.getProperty(key);
     }
 
+    /**
+     * Reads the key from the file, which is parsed on first use and cached afterwards
+     */
     public static String getProperty(String key, String filePath) {
-        File file = new File(filePath);
-        Properties properties = null;
-        try {
-            FileInputStream fileInputStream = new FileInputStream(file);
-            properties = new Properties();
-            try {
-                properties.load(fileInputStream);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        } catch (FileNotFoundException e) {
+        return CACHE.computeIfAbsent(filePath, PropertyUtil::load).getProperty(key);
+    }
+
+    /**
+     * Drops every cached file so the next read parses it again
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static Properties load(String filePath) {
+        Properties properties = new Properties();
+        try (FileInputStream fileInputStream = new FileInputStream(new File(filePath))) {
+            properties.load(fileInputStream);
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        return properties.getProperty(key);
+        return properties;
     }
 
 }
-
@@ -0,0 +1,82 @@
+package utility;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Loads and compiles each JSON schema once and validates responses against the cached copy.
+ * <p>
+ * Schemas are looked up by file path first and then on the classpath, so both
+ * {@link constants.FilePaths} entries and packaged resource names work. Response bodies
+ * are parsed straight from their bytes into a tree; they are never turned into a String.
+ */
+public final class SchemaRegistry {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonSchemaFactory SCHEMA_FACTORY = JsonSchemaFactory.byDefault();
+    private static final ConcurrentMap<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private SchemaRegistry() {
+    }
+
+    /**
+     * Returns the compiled schema, loading it on first use
+     */
+    public static JsonSchema getSchema(String location) {
+        return SCHEMAS.computeIfAbsent(location, SchemaRegistry::compile);
+    }
+
+    public static ProcessingReport validate(Response response, String location) {
+        JsonSchema schema = getSchema(location);
+        try (InputStream body = response.asInputStream()) {
+            return schema.validate(MAPPER.readTree(body));
+        } catch (IOException | ProcessingException e) {
+            throw new RuntimeException("Failed to validate response against " + location + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fails with the validation report when the response body does not match the schema
+     */
+    public static void assertValid(Response response, String location) {
+        ProcessingReport report = validate(response, location);
+        if (!report.isSuccess()) {
+            throw new AssertionError("Response does not match schema " + location + "\n" + report);
+        }
+    }
+
+    private static JsonSchema compile(String location) {
+        try (InputStream schemaStream = open(location)) {
+            JsonNode schemaNode = MAPPER.readTree(schemaStream);
+            return SCHEMA_FACTORY.getJsonSchema(schemaNode);
+        } catch (IOException | ProcessingException e) {
+            throw new RuntimeException("Failed to read schema file: " + e.getMessage(), e);
+        }
+    }
+
+    private static InputStream open(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.isRegularFile(path)) {
+            return Files.newInputStream(path);
+        }
+        String resource = location.startsWith("/") ? location.substring(1) : location;
+        InputStream classpathStream = SchemaRegistry.class.getClassLoader().getResourceAsStream(resource);
+        if (classpathStream == null) {
+            throw new IOException("Schema not found on disk or classpath: " + location);
+        }
+        return classpathStream;
+    }
+}
@@ -0,0 +1,15 @@
+package loadgen;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+/**
+ * Virtual thread factories for {@link ThreadMode#VIRTUAL}; only the {@code java21} profile compiles this
+ */
+final class VirtualThreads implements Function<String, ThreadFactory> {
+
+    @Override
+    public ThreadFactory apply(String namePrefix) {
+        return Thread.ofVirtual().name(namePrefix, 1).factory();
+    }
+}
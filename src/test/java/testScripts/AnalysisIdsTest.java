@@ -0,0 +1,39 @@
+package testScripts;
+
+import entity.common.AnalysisIds;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+@Epic("Framework")
+@Feature("Payload building")
+public class AnalysisIdsTest {
+
+    @Test
+    @Story("Analysis IDs")
+    @Description("Session IDs keep the frontend format and timestamps are current ISO-8601 instants with milliseconds")
+    public void idsAndTimestampsKeepTheirFormat() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String id = AnalysisIds.sessionId("copypaste");
+            Assert.assertTrue(id.matches("copypaste_\\d{13}_[0-9a-f]{8}"), id);
+            ids.add(id);
+        }
+        Assert.assertTrue(ids.size() > 9_990, "Only " + ids.size() + " distinct IDs");
+
+        for (int i = 0; i < 2_000; i++) {
+            String timestamp = AnalysisIds.timestamp();
+            Assert.assertTrue(timestamp.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z"), timestamp);
+            Duration skew = Duration.between(Instant.parse(timestamp), Instant.now());
+            Assert.assertTrue(!skew.isNegative() && skew.toMillis() < 1_000, timestamp + " is off by " + skew);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package testScripts;
+
+import base.http.BlockBlobUploader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Epic("Candidate Screening")
+@Feature("Media Upload")
+public class BlockBlobUploaderTest {
+
+    private static final Pattern LATEST_BLOCK = Pattern.compile("<Latest>([^<]+)</Latest>");
+    private static final long BLOCK_DELAY_MS = 50;
+
+    private final Map<String, byte[]> stagedBlocks = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> blockAttempts = new ConcurrentHashMap<>();
+    private final AtomicInteger blocksInFlight = new AtomicInteger();
+    private final AtomicInteger maxBlocksInFlight = new AtomicInteger();
+    private volatile byte[] committedBlob;
+    private volatile String failOnceBlockId;
+    private volatile String rejectedBlockId;
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private Path file;
+
+    @BeforeClass
+    public void startStandInBlobService() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/container/", this::handleBlobRequest);
+        // one thread per possible block in flight, so the uploader's parallelism is not serialized here
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        byte[] content = new byte[5 * 1024 * 1024 + 12345];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("block-upload", ".webm");
+        Files.write(file, content);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStandInBlobService() throws IOException {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        Files.deleteIfExists(file);
+    }
+
+    @BeforeMethod
+    public void clearBlobService() {
+        stagedBlocks.clear();
+        blockAttempts.clear();
+        maxBlocksInFlight.set(0);
+        committedBlob = null;
+        failOnceBlockId = null;
+        rejectedBlockId = null;
+    }
+
+    @Test
+    @Story("Chunked block blob upload")
+    @Description("Large files are uploaded as parallel blocks, a failed block is retried on its own and the blob is committed in order")
+    public void uploadsBlocksInParallelAndCommitsBlockList() throws IOException {
+        failOnceBlockId = Base64.getEncoder()
+                .encodeToString("block-00000002".getBytes(StandardCharsets.UTF_8));
+        BlockBlobUploader uploader = new BlockBlobUploader(1024 * 1024, 4, 3);
+        try {
+            String sasUrl = "http://localhost:" + server.getAddress().getPort() + "/container/answer.webm?sv=2022-11-02&sig=abc%2Fdef";
+            Response response = uploader.upload(sasUrl, file);
+
+            Assert.assertEquals(response.statusCode(), 201, "Expected Put Block List to create the blob");
+            Assert.assertEquals(stagedBlocks.size(), 6, "Expected one staged block per MiB of the file");
+            Assert.assertEquals(blockAttempts.get(failOnceBlockId).get(), 2, "Expected only the failed block to be retried");
+            Assert.assertEquals(committedBlob, Files.readAllBytes(file), "Committed blob must match the source file");
+            Assert.assertTrue(maxBlocksInFlight.get() > 1, "Expected blocks to be uploaded concurrently");
+            Assert.assertTrue(maxBlocksInFlight.get() <= 4, "Expected at most 4 blocks in flight, saw " + maxBlocksInFlight.get());
+        } finally {
+            uploader.shutdown();
+        }
+    }
+
+    @Test
+    @Story("Chunked block blob upload")
+    @Description("A block rejected with a client error fails the upload, stops the other workers and commits nothing")
+    public void rejectedBlockStopsRemainingBlocks() {
+        rejectedBlockId = Base64.getEncoder()
+                .encodeToString("block-00000000".getBytes(StandardCharsets.UTF_8));
+        BlockBlobUploader uploader = new BlockBlobUploader(1024 * 1024, 2, 3);
+        try {
+            String sasUrl = "http://localhost:" + server.getAddress().getPort() + "/container/answer.webm?sv=2022-11-02&sig=abc%2Fdef";
+            Assert.assertThrows(IOException.class, () -> uploader.upload(sasUrl, file));
+
+            Assert.assertEquals(blockAttempts.get(rejectedBlockId).get(), 1, "Expected a rejected block not to be retried");
+            Assert.assertTrue(blockAttempts.size() < 6, "Expected the remaining blocks to be skipped, saw " + blockAttempts.size());
+            Assert.assertNull(committedBlob, "Expected no block list after a failed block");
+        } finally {
+            uploader.shutdown();
+        }
+    }
+
+    private void handleBlobRequest(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        if (!"PUT".equals(exchange.getRequestMethod()) || !"abc/def".equals(query.get("sig"))) {
+            respond(exchange, 403);
+        } else if ("block".equals(query.get("comp"))) {
+            String blockId = query.get("blockid");
+            int attempt = blockAttempts.computeIfAbsent(blockId, id -> new AtomicInteger()).incrementAndGet();
+            if (blockId.equals(rejectedBlockId)) {
+                respond(exchange, 400);
+                return;
+            }
+            if (blockId.equals(failOnceBlockId) && attempt == 1) {
+                respond(exchange, 503);
+                return;
+            }
+            maxBlocksInFlight.accumulateAndGet(blocksInFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(BLOCK_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                blocksInFlight.decrementAndGet();
+            }
+            stagedBlocks.put(blockId, body);
+            respond(exchange, 201);
+        } else if ("blocklist".equals(query.get("comp"))) {
+            ByteArrayOutputStream blob = new ByteArrayOutputStream();
+            Matcher matcher = LATEST_BLOCK.matcher(new String(body, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                byte[] block = stagedBlocks.get(matcher.group(1));
+                if (block == null) {
+                    respond(exchange, 400);
+                    return;
+                }
+                blob.write(block);
+            }
+            committedBlob = blob.toByteArray();
+            respond(exchange, 201);
+        } else {
+            committedBlob = body;
+            respond(exchange, 201);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,66 @@
+package testScripts;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import loadgen.data.CandidateGenerator;
+import loadgen.data.DataProfile;
+import loadgen.data.SyntheticCandidate;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utility.JavaToJSON;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Epic("Framework")
+@Feature("Load generation")
+public class CandidateGeneratorTest {
+
+    private static final DataProfile PROFILE = DataProfile.builder().seed(7).answerProgramming(true).build();
+
+    @Test
+    @Story("Synthetic candidates")
+    @Description("The same seed and index always give the same candidate")
+    public void candidatesAreReproducible() {
+        SyntheticCandidate first = new CandidateGenerator(PROFILE).candidate(123);
+        SyntheticCandidate second = new CandidateGenerator(PROFILE).candidate(123);
+
+        Assert.assertEquals(second.getSession().getCandidateScreeningId(), first.getSession().getCandidateScreeningId());
+        Assert.assertEquals(second.getSubjectiveAnswer(), first.getSubjectiveAnswer());
+        Assert.assertEquals(second.getProgrammingAnswer(), first.getProgrammingAnswer());
+        Assert.assertEquals(JavaToJSON.convertToJSON(second.getSubjectiveTypingAnalysis()),
+                JavaToJSON.convertToJSON(first.getSubjectiveTypingAnalysis()));
+        Assert.assertEquals(second.mcqAnswer(3), first.mcqAnswer(3));
+    }
+
+    @Test
+    @Story("Synthetic candidates")
+    @Description("Thousands of candidates are distinct and follow the configured answer weights and suspicious share")
+    public void candidatesFollowTheProfile() {
+        Set<String> screeningIds = new HashSet<>();
+        int[] suspicious = new int[1];
+        Map<String, Long> mcqAnswers = new CandidateGenerator(PROFILE).stream(5_000)
+                .peek(candidate -> {
+                    screeningIds.add(candidate.getSession().getCandidateScreeningId());
+                    if (candidate.isSuspicious()) {
+                        suspicious[0]++;
+                        Assert.assertTrue(candidate.getSubjectiveTypingAnalysis().getPasteEventCount() > 0);
+                    }
+                    int words = candidate.getSubjectiveTypingAnalysis().getQualityAnalysis().getWordCount();
+                    Assert.assertTrue(words >= 30 && words <= 250, "word count " + words);
+                })
+                .map(candidate -> candidate.mcqAnswer(0))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        Assert.assertEquals(screeningIds.size(), 5_000);
+        Assert.assertTrue(suspicious[0] > 350 && suspicious[0] < 650, "suspicious " + suspicious[0]);
+        long signature = mcqAnswers.getOrDefault("SignatureException", 0L);
+        Assert.assertTrue(signature > 3_300 && signature < 3_700, "SignatureException " + signature);
+        Assert.assertEquals(mcqAnswers.size(), 4);
+    }
+}
@@ -0,0 +1,78 @@
+package testScripts;
+
+import base.ApplicationConfig;
+import base.ScreeningSession;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import loadgen.LoadProfile;
+import loadgen.ScreeningFlow;
+import loadgen.data.CandidateGenerator;
+import loadgen.data.CandidateManifest;
+import loadgen.data.DataProfile;
+import loadgen.data.SyntheticCandidate;
+import org.testng.ITestContext;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the full screening flow once per row of a candidate manifest, {@code manifest.threads} rows at a time, e.g.
+ * {@code mvn test -DxmlFile=manifest.xml -Denvironment=stub -Dmanifest.file=candidates.jsonl -Dmanifest.threads=16}.
+ * <p>
+ * Each row is a separate test with its own session and services. Screening test, experience and media
+ * files come from the {@code load.*} properties and the answers from a {@link CandidateGenerator}.
+ * <p>
+ * TestNG queues every row of a parallel data provider before running them, so rows are handed out only
+ * while fewer than twice the thread count are waiting or running; the manifest is read as the tests
+ * progress and large manifests do not have to fit in memory.
+ */
+@Epic("Candidate Screening")
+@Feature("Data-driven Screening")
+public class CandidateManifestScreeningTest {
+
+    private final ScreeningFlow flow = new ScreeningFlow(LoadProfile.fromSystemProperties());
+    private final CandidateGenerator answers = new CandidateGenerator(DataProfile.fromSystemProperties());
+    private Semaphore rowsAhead;
+
+    @DataProvider(name = "candidates", parallel = true)
+    public Iterator<Object[]> candidates(ITestContext context) {
+        CandidateManifest manifest = CandidateManifest.open(Paths.get(ApplicationConfig.getProperty("manifest.file",
+                "src/test/resources/manifests/candidates.csv")));
+        rowsAhead = new Semaphore(2 * context.getSuite().getXmlSuite().getDataProviderThreadCount());
+        return new Iterator<>() {
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (!exhausted && !manifest.hasNext()) {
+                    exhausted = true;
+                    manifest.close();
+                }
+                return !exhausted;
+            }
+
+            @Override
+            public Object[] next() {
+                rowsAhead.acquireUninterruptibly();
+                ScreeningSession session = manifest.next();
+                return new Object[]{answers.candidate(manifest.getLineNumber()).toBuilder().session(session).build()};
+            }
+        };
+    }
+
+    @Test(dataProvider = "candidates")
+    @Story("Screening per manifest row")
+    @Description("Fetches the questions and submits every answer for one candidate session of the manifest")
+    public void candidateScreeningFromManifest(SyntheticCandidate candidate) {
+        try {
+            flow.run(candidate);
+        } finally {
+            rowsAhead.release();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package testScripts;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import loadgen.LoadDriver;
+import loadgen.LoadProfile;
+import loadgen.LoadReport;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Entry point for load runs, configured through {@code load.*} system properties, e.g.
+ * {@code mvn test -DxmlFile=loadtest.xml -Denvironment=stub -Dload.model=open -Dload.arrivalRate=20}.
+ * Add {@code -Dload.threadMode=virtual} (Java 21+ runtime) to compare against platform threads.
+ */
+@Epic("Candidate Screening")
+@Feature("Load Generation")
+public class CandidateScreeningLoadTest {
+
+    private static final double MAX_FAILURE_RATIO = Double.parseDouble(System.getProperty("load.maxFailureRatio", "0.01"));
+
+    @Test
+    @Story("Screening flow under load")
+    @Description("Replays the full screening flow for many synthetic candidates and reports per-endpoint latency")
+    public void candidateScreeningLoadTest() throws InterruptedException {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        LoadReport report = new LoadDriver(profile).run();
+
+        String summary = report.format();
+        System.out.println(summary);
+        Allure.addAttachment("Load report", "text/plain", summary);
+
+        long finished = report.getCompleted() + report.getFailed();
+        Assert.assertTrue(finished > 0, "Expected at least one screening to finish");
+        Assert.assertTrue((double) report.getFailed() / finished <= MAX_FAILURE_RATIO,
+                "Failed screenings exceed " + MAX_FAILURE_RATIO + " of " + finished);
+    }
+}
@@ -1,18 +1,22 @@
 package testScripts;
 
-import base.ScreeningControl;
+import base.ApplicationConfig;
+import base.ScreeningSession;
 import constants.FilePaths;
 import constants.StatusCodes;
+import entity.screeningPOJO.QuestionType;
+import entity.screeningPOJO.ScreeningQuestions;
 import io.restassured.response.Response;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 import services.*;
+import stub.StubServer;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-// Removed unused static import
-// import static base.ScreeningControl.jobRoleID;
+import java.util.Map;
 
 // Add Allure imports
 import io.qameta.allure.Allure;
@@ -27,65 +31,48 @@ import io.qameta.allure.Story;
 @Feature("Answer Submission Tests")
 public class CandidateScreeningTest {
 
+    private static final String EXPERIENCE = "4.0";
+    private static final String SCREEN_TEST_ID = "692d3aeb3d9838750c2d650a";
+
     @Test
     @Story("MCQ Screening Test")
     @Description("Test candidate screening flow with multiple question types: MCQ, Audio, Video, and Subjective")
     @Severity(SeverityLevel.CRITICAL)
     public void candidateMCQScreeningTest() {
 
-        Allure.step("Set up candidate and job identifiers", () -> {
-            ScreeningControl.candidateScreeningId = "694770d452e582fefe7e1ebc";
-            ScreeningControl.jobRoleID = "68943b744df518afa9442034";
-            ScreeningControl.jobApplicationID = "69476ed0c41f0cc9ce8110f0";
-        });
-        final String experience = "4.0";
-        final String screenTestID = "692d3aeb3d9838750c2d650a";
-
-        ScreeningDetailsServices screeningDetailsServices = new ScreeningDetailsServices();
-        final Response screeningDetailsResponse = Allure.step("Fetch screening details and questions", () ->
-                screeningDetailsServices.getScreeningDetails(screenTestID)
-        );
-
-        // Extract IDs (some may be unused depending on test scope)
-        Allure.step("Extract question IDs", () -> {
-            // These lines execute within the step but values are used later as needed
-            screeningDetailsResponse.jsonPath().getString("find { it.mcq != null }.mcq[0]._id");
-            screeningDetailsResponse.jsonPath().getString("find { it.audio != null }.audio[0]._id");
-            screeningDetailsResponse.jsonPath().getString("find { it.video != null }.video[0]._id");
-            screeningDetailsResponse.jsonPath().getString("find { it.subjective != null }.subjective[0]._id");
-            screeningDetailsResponse.jsonPath().getString("find { it.programming != null }.programming[0]._id");
-        });
+        final ScreeningSession session = setUpSession();
+        final ScreeningQuestions questions = fetchQuestions(session);
 
-        final String audioQuestionID = screeningDetailsResponse.jsonPath().getString("find { it.audio != null }.audio[0]._id");
-        final String videoQuestionID = screeningDetailsResponse.jsonPath().getString("find { it.video != null }.video[0]._id");
-        final String subjectiveQuestionID = screeningDetailsResponse.jsonPath().getString("find { it.subjective != null }.subjective[0]._id");
-        final List<String> mcqIds = screeningDetailsResponse.jsonPath().getList("find { it.mcq != null }.mcq._id");
+        final String audioQuestionID = questions.getFirstId(QuestionType.AUDIO);
+        final String videoQuestionID = questions.getFirstId(QuestionType.VIDEO);
+        final String subjectiveQuestionID = questions.getFirstId(QuestionType.SUBJECTIVE);
+        final List<String> mcqIds = questions.getIds(QuestionType.MCQ);
 
         // ...existing code...
         final List<String> answers = new ArrayList<>();
         answers.add("SignatureException");
 
-        AudioService audioService = new AudioService();
+        AudioService audioService = new AudioService(session);
         Response audioAnswerResponse = Allure.step("Submit Audio answer", () ->
-                audioService.submitAudioAnswer(audioQuestionID, experience, "files/AudioAnswer.mp3")
+                audioService.submitAudioAnswer(audioQuestionID, EXPERIENCE, "files/AudioAnswer.mp3")
         );
         Allure.step("Validate Audio answer response and schema", () -> {
             Assert.assertEquals(audioAnswerResponse.statusCode(), StatusCodes.STATUS_CODE_OK, "Expected HTTP 200 when submitting Audio answer");
             audioService.validateSchema(audioAnswerResponse, FilePaths.SCHEMA_FILE_FOR_VIDEO_AUDIO_MCQ);
         });
 
-        SubjectiveService subjectiveService = new SubjectiveService();
+        SubjectiveService subjectiveService = new SubjectiveService(session);
         Response subjectiveAsnwerResponse = Allure.step("Submit Subjective answer", () ->
-                subjectiveService.submitSubjectiveAnswer(subjectiveQuestionID, experience, "<p>- More Reliable</p><p>- More Secure</p><p>- Flackness is lesser then UI</p><p>- Cost Effiective Early Bugs identification</p>")
+                subjectiveService.submitSubjectiveAnswer(subjectiveQuestionID, EXPERIENCE, "<p>- More Reliable</p><p>- More Secure</p><p>- Flackness is lesser then UI</p><p>- Cost Effiective Early Bugs identification</p>")
         );
         Allure.step("Validate Subjective answer response and schema", () -> {
             Assert.assertEquals(subjectiveAsnwerResponse.statusCode(), StatusCodes.STATUS_CODE_OK, "Expected HTTP 200 when submitting Subjective answer");
             subjectiveService.validateSchema(subjectiveAsnwerResponse, FilePaths.SCHEMA_FILE_FOR_SUBJECTIVE_PROGRAMMING);
         });
 
-        VideoServices videoServices = new VideoServices();
+        VideoServices videoServices = new VideoServices(session);
         Response videoAnswerResponse = Allure.step("Submit Video answer", () ->
-                videoServices.submitVideoAnswer(videoQuestionID, experience, "files/VideoAnswer.mp4")
+                videoServices.submitVideoAnswer(videoQuestionID, EXPERIENCE, "files/VideoAnswer.mp4")
         );
         Allure.step("Validate Video answer response and schema", () -> {
             Assert.assertEquals(videoAnswerResponse.statusCode(), StatusCodes.STATUS_CODE_OK, "Expected HTTP 200 when submitting Audio answer");
@@ -94,8 +81,8 @@ public class CandidateScreeningTest {
 
         Allure.step("Submit and validate all MCQ answers", () -> {
             for (int i = 0; i < mcqIds.size(); i++) {
-                MCQService mcqService = new MCQService();
-                Response submitMCQAnswerResponse = mcqService.submitMCQAnswer(mcqIds.get(i), experience, answers.get(i));
+                MCQService mcqService = new MCQService(session);
+                Response submitMCQAnswerResponse = mcqService.submitMCQAnswer(mcqIds.get(i), EXPERIENCE, answers.get(i));
                 Assert.assertEquals(submitMCQAnswerResponse.statusCode(), StatusCodes.STATUS_CODE_OK, "Expected HTTP 200 when submitting MCQ answer");
                 mcqService.validateSchema(submitMCQAnswerResponse, FilePaths.SCHEMA_FILE_FOR_VIDEO_AUDIO_MCQ);
             }
@@ -106,4 +93,51 @@ public class CandidateScreeningTest {
 //        Assert.assertEquals(programmingResponse.statusCode(), StatusCodes.STATUS_CODE_OK, "Expected HTTP 200 when submitting Audio answer");
     }
 
+    @Test
+    @Story("MCQ Batch Submission")
+    @Description("Submit every MCQ answer of the screening in one concurrent batch and validate each response")
+    @Severity(SeverityLevel.NORMAL)
+    public void candidateMCQBatchSubmissionTest() {
+
+        if (!StubServer.ENVIRONMENT.equals(ApplicationConfig.getEnvironment())) {
+            throw new SkipException("Re-submits the configured candidate's MCQ answers; run mcqbatch.xml with -Denvironment="
+                    + StubServer.ENVIRONMENT);
+        }
+        final ScreeningSession session = setUpSession();
+        final List<String> mcqIds = fetchQuestions(session).getIds(QuestionType.MCQ);
+
+        Allure.step("Submit all MCQ answers in one batch and validate them", () -> {
+            Map<String, String> mcqAnswers = new LinkedHashMap<>();
+            for (String mcqId : mcqIds) {
+                mcqAnswers.put(mcqId, "SignatureException");
+            }
+            MCQService mcqService = new MCQService(session);
+            Map<String, Response> submitMCQAnswerResponses = mcqService.submitMCQAnswers(mcqAnswers, EXPERIENCE);
+            Assert.assertEquals(submitMCQAnswerResponses.keySet(), mcqAnswers.keySet(), "Expected one response per MCQ answer");
+            for (Response submitMCQAnswerResponse : submitMCQAnswerResponses.values()) {
+                Assert.assertEquals(submitMCQAnswerResponse.statusCode(), StatusCodes.STATUS_CODE_OK, "Expected HTTP 200 when submitting MCQ answer");
+                mcqService.validateSchema(submitMCQAnswerResponse, FilePaths.SCHEMA_FILE_FOR_VIDEO_AUDIO_MCQ);
+            }
+        });
+    }
+
+    private static ScreeningSession setUpSession() {
+        return Allure.step("Set up candidate and job identifiers", () ->
+                ScreeningSession.builder()
+                        .candidateScreeningId("694770d452e582fefe7e1ebc")
+                        .jobRoleID("68943b744df518afa9442034")
+                        .jobApplicationID("69476ed0c41f0cc9ce8110f0")
+                        .build()
+        );
+    }
+
+    private static ScreeningQuestions fetchQuestions(ScreeningSession session) {
+        ScreeningDetailsServices screeningDetailsServices = new ScreeningDetailsServices(session);
+        final Response screeningDetailsResponse = Allure.step("Fetch screening details and questions", () ->
+                screeningDetailsServices.getScreeningDetails(SCREEN_TEST_ID)
+        );
+        return Allure.step("Extract question IDs", () ->
+                ScreeningQuestions.from(screeningDetailsResponse)
+        );
+    }
 }
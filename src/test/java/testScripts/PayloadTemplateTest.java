@@ -0,0 +1,70 @@
+package testScripts;
+
+import entity.common.CopyPasteAnalysis;
+import entity.mcqPOJO.MCQRootPayload;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utility.JavaToJSON;
+import utility.PayloadTemplate;
+
+@Epic("Candidate Screening")
+@Feature("Answer Payloads")
+public class PayloadTemplateTest {
+
+    private static final String TRICKY_ANSWER = "<p>\"quoted\" \\ back\tslash\nnew line \u0001 ünïcode / slash</p>";
+
+    @Test
+    @Story("Rendered payload matches Jackson")
+    @Description("A rendered template is byte-for-byte the JSON Jackson writes for the same payload, escaping included")
+    public void renderedPayloadMatchesJackson() {
+        PayloadTemplate template = PayloadTemplate.compile(mcqPayload(PayloadTemplate.slot("questionId"),
+                        PayloadTemplate.slot("candidateAnswer"), PayloadTemplate.slot("sessionId"), PayloadTemplate.slot("timestamp")),
+                "questionId", "candidateAnswer", "sessionId", "timestamp");
+
+        String rendered = template.render("q-1", TRICKY_ANSWER, "copypaste_1_abc", "2025-01-01T00:00:00Z");
+
+        Assert.assertEquals(rendered, JavaToJSON.convertToJSON(mcqPayload("q-1", TRICKY_ANSWER, "copypaste_1_abc", "2025-01-01T00:00:00Z")));
+        Assert.assertEquals(template.render("q-2", "b", "s", "t"),
+                JavaToJSON.convertToJSON(mcqPayload("q-2", "b", "s", "t")), "A second render must not carry values of the first");
+    }
+
+    @Test
+    @Story("Rendered payload matches Jackson")
+    @Description("A null slot value leaves its field out, the way Jackson writes the NON_NULL payloads")
+    public void nullSlotIsOmittedLikeJackson() {
+        PayloadTemplate template = PayloadTemplate.compile(mcqPayload(PayloadTemplate.slot("questionId"),
+                        PayloadTemplate.slot("candidateAnswer"), PayloadTemplate.slot("sessionId"), PayloadTemplate.slot("timestamp")),
+                "questionId", "candidateAnswer", "sessionId", "timestamp");
+
+        Assert.assertEquals(template.render(null, "a", null, null),
+                JavaToJSON.convertToJSON(mcqPayload(null, "a", null, null)));
+        Assert.assertEquals(template.render("q-1", null, "s", null),
+                JavaToJSON.convertToJSON(mcqPayload("q-1", null, "s", null)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    @Story("Rendered payload matches Jackson")
+    @Description("Compiling fails when a declared slot is not in the sample payload")
+    public void declaredSlotMissingFromSampleIsRejected() {
+        PayloadTemplate.compile(mcqPayload("q-1", "a", "s", "t"), "questionId");
+    }
+
+    private static MCQRootPayload mcqPayload(String questionId, String answer, String sessionId, String timestamp) {
+        CopyPasteAnalysis copyPasteAnalysis = CopyPasteAnalysis.createDefault(257);
+        copyPasteAnalysis.setSessionId(sessionId);
+        copyPasteAnalysis.setTimestamp(timestamp);
+        return MCQRootPayload.builder()
+                .questionId(questionId)
+                .type("mcq")
+                .skill("api")
+                .timeSpent(9)
+                .candidateAnswer(answer)
+                .copyPasteAnalysis(copyPasteAnalysis)
+                .hasCopyPasteAnalysis(true)
+                .build();
+    }
+}
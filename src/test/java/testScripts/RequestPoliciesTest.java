@@ -0,0 +1,134 @@
+package testScripts;
+
+import base.metrics.EndpointMetrics;
+import base.resilience.CircuitOpenException;
+import base.resilience.RequestPolicies;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("Framework")
+@Feature("Request resilience")
+public class RequestPoliciesTest {
+
+    private final Map<String, String> overriddenProperties = new HashMap<>();
+
+    @BeforeClass
+    public void fastBackoff() {
+        setProperty("http.retry.baseDelayMs", "1");
+        setProperty("http.retry.maxDelayMs", "5");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreProperties() {
+        overriddenProperties.forEach((name, value) -> {
+            if (value == null) {
+                System.clearProperty(name);
+            } else {
+                System.setProperty(name, value);
+            }
+        });
+        overriddenProperties.clear();
+    }
+
+    @Test
+    @Story("Retry")
+    @Description("A transient 503 on an idempotent call is retried and the successful attempt returned")
+    public void retriesIdempotentCallOnServerError() {
+        AtomicInteger attempts = new AtomicInteger();
+        Response response = RequestPolicies.execute("GET", "/api/retry-on-503",
+                policy -> response(attempts.incrementAndGet() < 3 ? 503 : 200));
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertEquals(attempts.get(), 3);
+    }
+
+    @Test
+    @Story("Retry")
+    @Description("A POST is sent once, whatever the outcome")
+    public void doesNotRetryNonIdempotentCall() {
+        AtomicInteger attempts = new AtomicInteger();
+        Response response = RequestPolicies.execute("POST", "/api/post-once", policy -> {
+            attempts.incrementAndGet();
+            return response(503);
+        });
+        Assert.assertEquals(response.statusCode(), 503);
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    @Test
+    @Story("Hedging")
+    @Description("A fast retryable answer from the hedge copy does not beat a slower successful one")
+    public void hedgeWaitsForUsableAnswer() {
+        setProperty("http.hedge-test.hedge.afterMs", "20");
+        setProperty("http.hedge-test.retry.maxAttempts", "1");
+        AtomicInteger attempts = new AtomicInteger();
+        Response response = RequestPolicies.execute("GET", "/api/hedge-test", policy -> {
+            if (attempts.incrementAndGet() > 1) {
+                return response(503);
+            }
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response(200);
+        });
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertEquals(attempts.get(), 2, "Expected the slow call to be hedged once");
+    }
+
+    @Test
+    @Story("Circuit breaker")
+    @Description("Once most recent calls failed the breaker rejects further calls without sending them")
+    public void openBreakerFailsFast() {
+        setProperty("http.breaker-test.retry.maxAttempts", "1");
+        AtomicInteger attempts = new AtomicInteger();
+        for (int call = 0; call < 10; call++) {
+            RequestPolicies.execute("GET", "/api/breaker-test", policy -> {
+                attempts.incrementAndGet();
+                return response(500);
+            });
+        }
+        Assert.assertThrows(CircuitOpenException.class, () -> RequestPolicies.execute("GET", "/api/breaker-test", policy -> {
+            attempts.incrementAndGet();
+            return response(200);
+        }));
+        Assert.assertEquals(attempts.get(), 10);
+    }
+
+    @Test
+    @Story("Concurrency limit")
+    @Description("Overload answers lower the adaptive concurrency limit of the endpoint")
+    public void overloadLowersConcurrencyLimit() {
+        setProperty("http.limit-test.limit.enabled", "true");
+        setProperty("http.limit-test.limit.initial", "10");
+        setProperty("http.limit-test.breaker.enabled", "false");
+        for (int call = 0; call < 5; call++) {
+            RequestPolicies.execute("POST", "/api/limit-test", policy -> response(503));
+        }
+        Assert.assertEquals(EndpointMetrics.snapshot().get("POST /api/limit-test").getConcurrencyLimit(), 5);
+    }
+
+    /**
+     * Sets a system property for this class only; the original value is restored after the class
+     */
+    private void setProperty(String name, String value) {
+        overriddenProperties.putIfAbsent(name, System.getProperty(name));
+        System.setProperty(name, value);
+    }
+
+    private static Response response(int statusCode) {
+        return new ResponseBuilder().setStatusCode(statusCode).setBody("").build();
+    }
+}
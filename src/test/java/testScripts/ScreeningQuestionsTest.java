@@ -0,0 +1,46 @@
+package testScripts;
+
+import entity.screeningPOJO.QuestionType;
+import entity.screeningPOJO.ScreeningQuestions;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import io.restassured.path.json.JsonPath;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Epic("Candidate Screening")
+@Feature("Screening Questions")
+public class ScreeningQuestionsTest {
+
+    private static final String BODY = "[{\"mcq\":null},"
+            + "{\"mcq\":[{\"_id\":\"m1\",\"question\":\"<p>Q1</p>\",\"options\":[{\"_id\":\"o1\",\"text\":\"A\"}]},"
+            + "{\"options\":[],\"_id\":\"m2\",\"weightage\":1}]},"
+            + "{\"audio\":[{\"_id\":\"a1\",\"meta\":{\"_id\":\"nested\"}}],\"unknown\":[{\"_id\":\"x\"}]},"
+            + "{\"video\":[{\"_id\":\"v1\"}]},"
+            + "{\"subjective\":[{\"_id\":\"s1\"}]},"
+            + "{\"programming\":[]}]";
+
+    @Test
+    @Story("Typed question index")
+    @Description("The streaming index returns the same IDs as the GPath expressions it replaces")
+    public void indexMatchesGPath() {
+        ScreeningQuestions questions = ScreeningQuestions.parse(BODY.getBytes(StandardCharsets.UTF_8));
+        JsonPath jsonPath = new JsonPath(BODY);
+
+        Assert.assertEquals(questions.getIds(QuestionType.MCQ), jsonPath.getList("find { it.mcq != null }.mcq._id"));
+        for (QuestionType type : List.of(QuestionType.AUDIO, QuestionType.VIDEO, QuestionType.SUBJECTIVE, QuestionType.PROGRAMMING)) {
+            String expression = "find { it." + type.getKey() + " != null }." + type.getKey() + "[0]._id";
+            Assert.assertEquals(questions.getFirstId(type), jsonPath.getString(expression), "First ID of " + type);
+        }
+        Assert.assertEquals(questions.get("m1").getQuestion(), "<p>Q1</p>");
+        Assert.assertEquals(questions.get("a1").getType(), QuestionType.AUDIO);
+        Assert.assertNull(questions.get("nested"), "IDs of nested objects must not be indexed");
+        Assert.assertNull(questions.get("x"), "Unknown sections must be skipped");
+        Assert.assertEquals(questions.size(), 5);
+    }
+}
@@ -0,0 +1,68 @@
+package testScripts;
+
+import base.auth.AuthToken;
+import base.auth.TokenCache;
+import base.auth.UserCredential;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("Framework")
+@Feature("Authentication")
+public class TokenCacheTest {
+
+    private static final UserCredential USER = UserCredential.builder()
+            .name("recruiter").username("test.user@example.com").password("secret").build();
+
+    @Test
+    @Story("Token cache")
+    @Description("Concurrent callers share one login, and a rejected token is replaced by a new login")
+    public void logsInOncePerUser() {
+        AtomicInteger logins = new AtomicInteger();
+        TokenCache cache = new TokenCache(credential -> token("token-" + logins.incrementAndGet(), Duration.ofHours(1)),
+                Duration.ofMinutes(1), Duration.ofSeconds(1));
+
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int caller = 0; caller < 16; caller++) {
+            callers.add(CompletableFuture.supplyAsync(() -> cache.getToken(USER)));
+        }
+        callers.forEach(token -> Assert.assertEquals(token.join(), "token-1"));
+        Assert.assertEquals(logins.get(), 1);
+
+        cache.invalidate("recruiter", "token-1");
+        cache.invalidate("recruiter", "token-1");
+        Assert.assertEquals(cache.getToken(USER), "token-2");
+        Assert.assertEquals(logins.get(), 2);
+    }
+
+    @Test
+    @Story("Token cache")
+    @Description("A token is replaced in the background before it expires")
+    public void refreshesBeforeExpiry() throws InterruptedException {
+        AtomicInteger logins = new AtomicInteger();
+        TokenCache cache = new TokenCache(credential -> token("token-" + logins.incrementAndGet(), Duration.ofMillis(400)),
+                Duration.ofMinutes(1), Duration.ofSeconds(1));
+
+        Assert.assertEquals(cache.getToken(USER), "token-1");
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (logins.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertTrue(logins.get() >= 2, "Token was not refreshed in the background");
+        Assert.assertNotEquals(cache.getToken(USER), "token-1");
+    }
+
+    private static AuthToken token(String value, Duration lifetime) {
+        return AuthToken.builder().value(value).expiresAt(Instant.now().plus(lifetime)).build();
+    }
+}